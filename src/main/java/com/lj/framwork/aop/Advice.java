@@ -0,0 +1,13 @@
+package com.lj.framwork.aop;
+
+/**
+ * @ClassName Advice
+ * @Description 通知（Advice）的标记接口。
+ * 具体的通知类型有：环绕 {@link MethodInterceptor}、前置 {@link MethodBeforeAdvice}、返回后 {@link AfterReturningAdvice}。
+ * @Author Dark Chocolate 2069057986@qq.com
+ * @Date 2026/1/29 9:10
+ * @Version JDK 17
+ */
+public interface Advice {
+
+}
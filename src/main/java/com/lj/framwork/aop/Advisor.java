@@ -0,0 +1,22 @@
+package com.lj.framwork.aop;
+
+/**
+ * @ClassName Advisor
+ * @Description 通知器：把一个切点和一个通知组合在一起。
+ * @Author Dark Chocolate 2069057986@qq.com
+ * @Date 2026/1/29 9:25
+ * @Version JDK 17
+ */
+public interface Advisor {
+
+    /**
+     * @return 切点
+     */
+    Pointcut getPointcut();
+
+    /**
+     * @return 通知
+     */
+    Advice getAdvice();
+
+}
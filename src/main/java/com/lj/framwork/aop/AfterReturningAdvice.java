@@ -0,0 +1,24 @@
+package com.lj.framwork.aop;
+
+import java.lang.reflect.Method;
+
+/**
+ * @ClassName AfterReturningAdvice
+ * @Description 返回后通知：目标方法正常返回后调用，可以读取返回值但不能替换它。
+ * @Author Dark Chocolate 2069057986@qq.com
+ * @Date 2026/1/29 9:20
+ * @Version JDK 17
+ */
+@FunctionalInterface
+public interface AfterReturningAdvice extends Advice {
+
+    /**
+     * @param returnValue 目标方法的返回值
+     * @param method      被调用的方法
+     * @param args        调用参数
+     * @param target      被调用的对象
+     * @throws Throwable 通知抛出的异常
+     */
+    void afterReturning(Object returnValue, Method method, Object[] args, Object target) throws Throwable;
+
+}
@@ -0,0 +1,31 @@
+package com.lj.framwork.aop;
+
+/**
+ * @ClassName DefaultPointcutAdvisor
+ * @Description 通知器的默认实现
+ * @Author Dark Chocolate 2069057986@qq.com
+ * @Date 2026/1/29 9:27
+ * @Version JDK 17
+ */
+public class DefaultPointcutAdvisor implements Advisor {
+
+    private final Pointcut pointcut;
+
+    private final Advice advice;
+
+    public DefaultPointcutAdvisor(Pointcut pointcut, Advice advice) {
+        this.pointcut = pointcut;
+        this.advice = advice;
+    }
+
+    @Override
+    public Pointcut getPointcut() {
+        return pointcut;
+    }
+
+    @Override
+    public Advice getAdvice() {
+        return advice;
+    }
+
+}
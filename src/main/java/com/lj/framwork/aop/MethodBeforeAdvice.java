@@ -0,0 +1,23 @@
+package com.lj.framwork.aop;
+
+import java.lang.reflect.Method;
+
+/**
+ * @ClassName MethodBeforeAdvice
+ * @Description 前置通知：在目标方法执行之前调用。抛出异常会阻止目标方法执行。
+ * @Author Dark Chocolate 2069057986@qq.com
+ * @Date 2026/1/29 9:18
+ * @Version JDK 17
+ */
+@FunctionalInterface
+public interface MethodBeforeAdvice extends Advice {
+
+    /**
+     * @param method 被调用的方法
+     * @param args   调用参数
+     * @param target 被调用的对象
+     * @throws Throwable 通知抛出的异常
+     */
+    void before(Method method, Object[] args, Object target) throws Throwable;
+
+}
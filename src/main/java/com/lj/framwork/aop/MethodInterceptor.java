@@ -0,0 +1,23 @@
+package com.lj.framwork.aop;
+
+/**
+ * @ClassName MethodInterceptor
+ * @Description 环绕通知。
+ * 在方法调用前后执行自定义逻辑，由实现者决定是否、何时调用 {@link MethodInvocation#proceed()} 继续执行后续通知和目标方法。
+ * 前置通知和返回后通知最终也会被适配成该接口，组成一条拦截器链。
+ * @Author Dark Chocolate 2069057986@qq.com
+ * @Date 2026/1/29 9:12
+ * @Version JDK 17
+ */
+@FunctionalInterface
+public interface MethodInterceptor extends Advice {
+
+    /**
+     * 环绕目标方法执行
+     * @param invocation 方法调用上下文
+     * @return 方法返回值
+     * @throws Throwable 目标方法或通知抛出的异常
+     */
+    Object invoke(MethodInvocation invocation) throws Throwable;
+
+}
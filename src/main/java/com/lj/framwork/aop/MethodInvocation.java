@@ -0,0 +1,38 @@
+package com.lj.framwork.aop;
+
+import java.lang.reflect.Method;
+
+/**
+ * @ClassName MethodInvocation
+ * @Description 一次被拦截的方法调用。
+ * 拦截器通过它获取方法、参数和目标对象，并调用 {@link #proceed()} 把调用传递给链上的下一个拦截器，
+ * 链的末端是目标方法本身。
+ * @Author Dark Chocolate 2069057986@qq.com
+ * @Date 2026/1/29 9:15
+ * @Version JDK 17
+ */
+public interface MethodInvocation {
+
+    /**
+     * @return 被调用的方法
+     */
+    Method getMethod();
+
+    /**
+     * @return 调用参数（拦截器可以修改数组中的元素）
+     */
+    Object[] getArguments();
+
+    /**
+     * @return 被调用的对象
+     */
+    Object getThis();
+
+    /**
+     * 执行链上的下一个拦截器，链走完后执行目标方法
+     * @return 方法返回值
+     * @throws Throwable 目标方法或通知抛出的异常
+     */
+    Object proceed() throws Throwable;
+
+}
@@ -0,0 +1,23 @@
+package com.lj.framwork.aop;
+
+import java.lang.reflect.Method;
+
+/**
+ * @ClassName Pointcut
+ * @Description 切点：决定通知作用于哪些类的哪些方法。
+ * 只在生成代理子类时对每个方法求值一次，运行期调用不会再匹配。
+ * @Author Dark Chocolate 2069057986@qq.com
+ * @Date 2026/1/29 9:22
+ * @Version JDK 17
+ */
+@FunctionalInterface
+public interface Pointcut {
+
+    /**
+     * @param method      候选方法
+     * @param targetClass Bean 的类型
+     * @return 是否对该方法应用通知
+     */
+    boolean matches(Method method, Class<?> targetClass);
+
+}
@@ -0,0 +1,43 @@
+package com.lj.framwork.aop.framework;
+
+import com.lj.framwork.aop.Advisor;
+import com.lj.framwork.aop.MethodInterceptor;
+import net.sf.cglib.proxy.MethodProxy;
+
+import java.lang.reflect.Method;
+
+/**
+ * @ClassName AdviceChainCallback
+ * @Description 代理子类中一个被增强方法的 CGLIB 回调。
+ * 每个被增强的方法独占一个回调槽位，回调里保存的就是该方法预先计算好的拦截器链，
+ * 调用时无需再按方法查找或匹配切点。
+ * @Author Dark Chocolate 2069057986@qq.com
+ * @Date 2026/1/29 10:10
+ * @Version JDK 17
+ */
+public class AdviceChainCallback implements net.sf.cglib.proxy.MethodInterceptor {
+
+    private final MethodInterceptor[] interceptors;
+
+    public AdviceChainCallback(MethodInterceptor[] interceptors) {
+        this.interceptors = interceptors;
+    }
+
+    /**
+     * 为方法计算拦截器链并创建回调。
+     * @param advisors    所有通知器
+     * @param method      候选方法
+     * @param targetClass Bean 的类型
+     * @return 回调；方法不需要增强时返回 null
+     */
+    public static AdviceChainCallback forMethod(Advisor[] advisors, Method method, Class<?> targetClass) {
+        MethodInterceptor[] interceptors = AdvisorChainFactory.getInterceptors(advisors, method, targetClass);
+        return interceptors.length > 0 ? new AdviceChainCallback(interceptors) : null;
+    }
+
+    @Override
+    public Object intercept(Object obj, Method method, Object[] args, MethodProxy proxy) throws Throwable {
+        return new CglibMethodInvocation(obj, method, args, proxy, interceptors).proceed();
+    }
+
+}
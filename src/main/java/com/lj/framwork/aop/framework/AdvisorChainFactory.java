@@ -0,0 +1,67 @@
+package com.lj.framwork.aop.framework;
+
+import com.lj.framwork.aop.Advice;
+import com.lj.framwork.aop.AfterReturningAdvice;
+import com.lj.framwork.aop.Advisor;
+import com.lj.framwork.aop.MethodBeforeAdvice;
+import com.lj.framwork.aop.MethodInterceptor;
+import com.lj.framwork.beans.BeansException;
+
+import java.lang.reflect.Method;
+import java.lang.reflect.Modifier;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * @ClassName AdvisorChainFactory
+ * @Description 拦截器链工厂。
+ * 按通知器的注册顺序，为某个类的某个方法筛选出匹配的通知并统一适配为 {@link MethodInterceptor}。
+ * 只在生成代理子类时调用，运行期直接使用计算好的数组。
+ * @Author Dark Chocolate 2069057986@qq.com
+ * @Date 2026/1/29 9:50
+ * @Version JDK 17
+ */
+public final class AdvisorChainFactory {
+
+    private static final MethodInterceptor[] NO_INTERCEPTORS = new MethodInterceptor[0];
+
+    private AdvisorChainFactory() {
+    }
+
+    /**
+     * 计算方法的拦截器链。
+     * @param advisors    所有通知器
+     * @param method      候选方法
+     * @param targetClass Bean 的类型
+     * @return 拦截器链；方法不需要增强时返回空数组
+     */
+    public static MethodInterceptor[] getInterceptors(Advisor[] advisors, Method method, Class<?> targetClass) {
+        // 抽象方法没有可以执行的 super 实现；final/static/private 方法无法被子类重写
+        int modifiers = method.getModifiers();
+        if (Modifier.isAbstract(modifiers) || Modifier.isFinal(modifiers) || Modifier.isStatic(modifiers) || Modifier.isPrivate(modifiers)) {
+            return NO_INTERCEPTORS;
+        }
+
+        List<MethodInterceptor> interceptors = new ArrayList<>();
+        for (Advisor advisor : advisors) {
+            if (advisor.getPointcut().matches(method, targetClass)) {
+                interceptors.add(adapt(advisor.getAdvice()));
+            }
+        }
+        return interceptors.isEmpty() ? NO_INTERCEPTORS : interceptors.toArray(NO_INTERCEPTORS);
+    }
+
+    private static MethodInterceptor adapt(Advice advice) {
+        if (advice instanceof MethodInterceptor) {
+            return (MethodInterceptor) advice;
+        }
+        if (advice instanceof MethodBeforeAdvice) {
+            return new MethodBeforeAdviceInterceptor((MethodBeforeAdvice) advice);
+        }
+        if (advice instanceof AfterReturningAdvice) {
+            return new AfterReturningAdviceInterceptor((AfterReturningAdvice) advice);
+        }
+        throw new BeansException("Unknown advice type [" + advice.getClass().getName() + "]");
+    }
+
+}
@@ -0,0 +1,29 @@
+package com.lj.framwork.aop.framework;
+
+import com.lj.framwork.aop.AfterReturningAdvice;
+import com.lj.framwork.aop.MethodInterceptor;
+import com.lj.framwork.aop.MethodInvocation;
+
+/**
+ * @ClassName AfterReturningAdviceInterceptor
+ * @Description 把返回后通知适配为拦截器：调用链正常返回后执行通知
+ * @Author Dark Chocolate 2069057986@qq.com
+ * @Date 2026/1/29 9:42
+ * @Version JDK 17
+ */
+public class AfterReturningAdviceInterceptor implements MethodInterceptor {
+
+    private final AfterReturningAdvice advice;
+
+    public AfterReturningAdviceInterceptor(AfterReturningAdvice advice) {
+        this.advice = advice;
+    }
+
+    @Override
+    public Object invoke(MethodInvocation invocation) throws Throwable {
+        Object returnValue = invocation.proceed();
+        advice.afterReturning(returnValue, invocation.getMethod(), invocation.getArguments(), invocation.getThis());
+        return returnValue;
+    }
+
+}
@@ -0,0 +1,66 @@
+package com.lj.framwork.aop.framework;
+
+import com.lj.framwork.aop.MethodInterceptor;
+import com.lj.framwork.aop.MethodInvocation;
+import net.sf.cglib.proxy.MethodProxy;
+
+import java.lang.reflect.Method;
+
+/**
+ * @ClassName CglibMethodInvocation
+ * @Description 基于 CGLIB 子类的方法调用。
+ * 依次执行拦截器链，链的末端通过 {@link MethodProxy#invokeSuper} 调用父类（原始 Bean 类）的实现，
+ * 这是生成的字节码直接调用，不经过 {@link Method#invoke} 反射。
+ * @Author Dark Chocolate 2069057986@qq.com
+ * @Date 2026/1/29 10:02
+ * @Version JDK 17
+ */
+public class CglibMethodInvocation implements MethodInvocation {
+
+    private final Object proxy;
+
+    private final Method method;
+
+    private final Object[] arguments;
+
+    private final MethodProxy methodProxy;
+
+    private final MethodInterceptor[] interceptors;
+
+    /**
+     * 下一个要执行的拦截器下标
+     */
+    private int currentInterceptorIndex;
+
+    public CglibMethodInvocation(Object proxy, Method method, Object[] arguments, MethodProxy methodProxy, MethodInterceptor[] interceptors) {
+        this.proxy = proxy;
+        this.method = method;
+        this.arguments = arguments;
+        this.methodProxy = methodProxy;
+        this.interceptors = interceptors;
+    }
+
+    @Override
+    public Method getMethod() {
+        return method;
+    }
+
+    @Override
+    public Object[] getArguments() {
+        return arguments;
+    }
+
+    @Override
+    public Object getThis() {
+        return proxy;
+    }
+
+    @Override
+    public Object proceed() throws Throwable {
+        if (currentInterceptorIndex == interceptors.length) {
+            return methodProxy.invokeSuper(proxy, arguments);
+        }
+        return interceptors[currentInterceptorIndex++].invoke(this);
+    }
+
+}
@@ -0,0 +1,28 @@
+package com.lj.framwork.aop.framework;
+
+import com.lj.framwork.aop.MethodBeforeAdvice;
+import com.lj.framwork.aop.MethodInterceptor;
+import com.lj.framwork.aop.MethodInvocation;
+
+/**
+ * @ClassName MethodBeforeAdviceInterceptor
+ * @Description 把前置通知适配为拦截器：先执行通知，再继续调用链
+ * @Author Dark Chocolate 2069057986@qq.com
+ * @Date 2026/1/29 9:40
+ * @Version JDK 17
+ */
+public class MethodBeforeAdviceInterceptor implements MethodInterceptor {
+
+    private final MethodBeforeAdvice advice;
+
+    public MethodBeforeAdviceInterceptor(MethodBeforeAdvice advice) {
+        this.advice = advice;
+    }
+
+    @Override
+    public Object invoke(MethodInvocation invocation) throws Throwable {
+        advice.before(invocation.getMethod(), invocation.getArguments(), invocation.getThis());
+        return invocation.proceed();
+    }
+
+}
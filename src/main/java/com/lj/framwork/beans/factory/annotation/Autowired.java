@@ -0,0 +1,28 @@
+package com.lj.framwork.beans.factory.annotation;
+
+import java.lang.annotation.Documented;
+import java.lang.annotation.ElementType;
+import java.lang.annotation.Retention;
+import java.lang.annotation.RetentionPolicy;
+import java.lang.annotation.Target;
+
+/**
+ * @ClassName Autowired
+ * @Description 按类型自动注入。
+ * 可以标注在字段或单参数的 setter 方法上，创建 Bean 时容器按成员类型查找唯一匹配的 Bean 并注入；
+ * 匹配到多个时，取名称与字段名（或 setter 对应的属性名）相同的那个。
+ * @Author Dark Chocolate 2069057986@qq.com
+ * @Date 2026/1/30 9:20
+ * @Version JDK 17
+ */
+@Target({ElementType.FIELD, ElementType.METHOD})
+@Retention(RetentionPolicy.RUNTIME)
+@Documented
+public @interface Autowired {
+
+    /**
+     * 是否必须注入。为 false 时找不到匹配的 Bean 就跳过该成员。
+     */
+    boolean required() default true;
+
+}
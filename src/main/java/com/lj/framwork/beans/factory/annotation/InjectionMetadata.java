@@ -0,0 +1,183 @@
+package com.lj.framwork.beans.factory.annotation;
+
+import cn.hutool.core.util.StrUtil;
+import com.lj.framwork.beans.BeansException;
+
+import java.lang.invoke.MethodHandle;
+import java.lang.invoke.MethodHandles;
+import java.lang.invoke.MethodType;
+import java.lang.reflect.Field;
+import java.lang.reflect.Member;
+import java.lang.reflect.Method;
+import java.lang.reflect.Modifier;
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Deque;
+import java.util.List;
+
+/**
+ * @ClassName InjectionMetadata
+ * @Description 一个类的注入元数据。
+ * 类中所有标注了 {@link Autowired} 的字段和 setter 方法只在第一次创建该类的 Bean 时反射扫描一次，
+ * 每个成员同时解析出依赖类型、依赖名称以及一个写入用的 MethodHandle；
+ * 之后同一个类的实例直接按元数据注入，不再反射遍历类结构。
+ * @Author Dark Chocolate 2069057986@qq.com
+ * @Date 2026/1/30 9:35
+ * @Version JDK 17
+ */
+public final class InjectionMetadata {
+
+    /**
+     * 没有任何注入点的类共享的空元数据
+     */
+    public static final InjectionMetadata EMPTY = new InjectionMetadata(new InjectedElement[0]);
+
+    /**
+     * 统一的写入签名：(bean, value) -> void
+     */
+    private static final MethodType INJECT_TYPE = MethodType.methodType(void.class, Object.class, Object.class);
+
+    private final InjectedElement[] injectedElements;
+
+    private InjectionMetadata(InjectedElement[] injectedElements) {
+        this.injectedElements = injectedElements;
+    }
+
+    /**
+     * 反射扫描类及其父类中的注入点，父类的成员先注入。
+     * @param clazz Bean 的类型
+     * @return 注入元数据；没有注入点时返回 {@link #EMPTY}
+     * @throws BeansException 注解标注在不支持的成员上时抛出
+     */
+    public static InjectionMetadata forClass(Class<?> clazz) throws BeansException {
+        Deque<Class<?>> hierarchy = new ArrayDeque<>();
+        for (Class<?> current = clazz; current != null && current != Object.class; current = current.getSuperclass()) {
+            hierarchy.push(current);
+        }
+
+        List<InjectedElement> elements = new ArrayList<>();
+        for (Class<?> current : hierarchy) {
+            for (Field field : current.getDeclaredFields()) {
+                Autowired autowired = field.getAnnotation(Autowired.class);
+                if (autowired == null) {
+                    continue;
+                }
+                checkNotStatic(field);
+                field.setAccessible(true);
+                elements.add(new InjectedElement(field, field.getType(), field.getName(), autowired.required(),
+                        unreflect(field, () -> MethodHandles.lookup().unreflectSetter(field))));
+            }
+            for (Method method : current.getDeclaredMethods()) {
+                Autowired autowired = method.getAnnotation(Autowired.class);
+                if (autowired == null || method.isBridge()) {
+                    continue;
+                }
+                checkNotStatic(method);
+                if (method.getParameterCount() != 1) {
+                    throw new BeansException("@Autowired method must have exactly one parameter: " + method);
+                }
+                method.setAccessible(true);
+                elements.add(new InjectedElement(method, method.getParameterTypes()[0], propertyName(method), autowired.required(),
+                        unreflect(method, () -> MethodHandles.lookup().unreflect(method))));
+            }
+        }
+        return elements.isEmpty() ? EMPTY : new InjectionMetadata(elements.toArray(new InjectedElement[0]));
+    }
+
+    public InjectedElement[] getInjectedElements() {
+        return injectedElements;
+    }
+
+    public boolean isEmpty() {
+        return injectedElements.length == 0;
+    }
+
+    private static void checkNotStatic(Member member) {
+        if (Modifier.isStatic(member.getModifiers())) {
+            throw new BeansException("@Autowired is not supported on static members: " + member);
+        }
+    }
+
+    /**
+     * setter 对应的属性名：setUserDao -> userDao，不以 set 开头时使用方法名
+     */
+    private static String propertyName(Method method) {
+        String name = method.getName();
+        if (name.length() > 3 && name.startsWith("set")) {
+            return StrUtil.lowerFirst(name.substring(3));
+        }
+        return name;
+    }
+
+    private static MethodHandle unreflect(Member member, HandleFactory factory) {
+        try {
+            return factory.create().asType(INJECT_TYPE);
+        } catch (IllegalAccessException e) {
+            throw new BeansException("Cannot access @Autowired member: " + member, e);
+        }
+    }
+
+    @FunctionalInterface
+    private interface HandleFactory {
+
+        MethodHandle create() throws IllegalAccessException;
+
+    }
+
+    /**
+     * 一个注入点（字段或 setter 方法）
+     */
+    public static final class InjectedElement {
+
+        private final Member member;
+
+        private final Class<?> dependencyType;
+
+        /**
+         * 依赖名称：字段名或 setter 对应的属性名，匹配到多个候选 Bean 时用来挑选
+         */
+        private final String dependencyName;
+
+        private final boolean required;
+
+        private final MethodHandle injector;
+
+        private InjectedElement(Member member, Class<?> dependencyType, String dependencyName, boolean required, MethodHandle injector) {
+            this.member = member;
+            this.dependencyType = dependencyType;
+            this.dependencyName = dependencyName;
+            this.required = required;
+            this.injector = injector;
+        }
+
+        /**
+         * 把依赖写入 Bean：字段直接赋值，setter 方法直接调用
+         * @param bean  目标 Bean
+         * @param value 依赖值
+         * @throws BeansException 写入失败时抛出
+         */
+        public void inject(Object bean, Object value) throws BeansException {
+            try {
+                injector.invokeExact(bean, value);
+            } catch (Throwable e) {
+                throw new BeansException("Failed to inject @Autowired member: " + member, e);
+            }
+        }
+
+        public Member getMember() {
+            return member;
+        }
+
+        public Class<?> getDependencyType() {
+            return dependencyType;
+        }
+
+        public String getDependencyName() {
+            return dependencyName;
+        }
+
+        public boolean isRequired() {
+            return required;
+        }
+    }
+}
@@ -2,6 +2,8 @@ package com.lj.framwork.beans.factory.config;
 
 import com.lj.framwork.beans.factory.PropertyValues;
 
+import java.util.function.Supplier;
+
 /**
  * @ClassName BeanDefinition
  * @Description Bean 的定义信息类。
@@ -15,6 +17,33 @@ import com.lj.framwork.beans.factory.PropertyValues;
  */
 public class BeanDefinition {
 
+    /**
+     * 单例作用域：容器中只创建一个实例，并缓存在单例池中
+     */
+    public static final String SCOPE_SINGLETON = "singleton";
+
+    /**
+     * 原型作用域：每次获取都创建一个新实例，容器不缓存
+     */
+    public static final String SCOPE_PROTOTYPE = "prototype";
+
+    /**
+     * 缓存作用域：实例按 {@link CachePolicy} 缓存，可能被淘汰，淘汰后下一次获取时重新创建。
+     * 适用于体积大、可以重建的 Bean（如本地缓存、查找表），不会像单例那样永久占用堆内存。
+     */
+    public static final String SCOPE_CACHE = "cache";
+
+    /**
+     * 按参数记忆作用域：getBean(name, args) 按参数元组缓存实例，相同参数返回同一个实例，
+     * 不同参数各自创建。缓存有界，按 CLOCK（LRU 的近似）淘汰，适用于按参数区分的 Bean，如按地域区分的客户端。
+     */
+    public static final String SCOPE_MEMOIZED = "memoized";
+
+    /**
+     * 按参数记忆作用域默认最多缓存的实例数
+     */
+    public static final int DEFAULT_MEMOIZED_CACHE_SIZE = 256;
+
     /**
      * Bean 的类对象（核心属性）。
      * 用于在运行时通过反射（Reflection）获取构造函数并实例化对象。
@@ -29,6 +58,45 @@ public class BeanDefinition {
      */
     private PropertyValues propertyValues;
 
+    /**
+     * 实例提供者（函数式注册）。
+     * 不为 null 时，容器直接调用 {@link Supplier#get()} 得到实例，
+     * 完全绕过实例化策略中的构造函数查找、反射与 CGLIB 子类生成。
+     */
+    private Supplier<?> instanceSupplier;
+
+    /**
+     * 依赖的 Bean 名称。创建本 Bean 之前会先获取这些 Bean，并记录依赖关系。
+     */
+    private String[] dependsOn = new String[0];
+
+    /**
+     * 编译期生成的实例化回调。不为 null 时，容器解析 dependsOn 后交给它创建并装配实例，
+     * 不经过实例化策略，也不做 @Autowired 注入。
+     */
+    private BeanInstantiator instantiator;
+
+    /**
+     * Bean 的作用域，默认为单例
+     */
+    private String scope = SCOPE_SINGLETON;
+
+    /**
+     * 缓存作用域的淘汰策略，仅在 {@link #SCOPE_CACHE} 下生效
+     */
+    private CachePolicy cachePolicy = CachePolicy.DEFAULT;
+
+    /**
+     * 按参数记忆作用域最多缓存的实例数，仅在 {@link #SCOPE_MEMOIZED} 下生效
+     */
+    private int memoizedCacheSize = DEFAULT_MEMOIZED_CACHE_SIZE;
+
+    /**
+     * 方法覆盖定义（lookup-method）。
+     * 不为空时，实例化策略需要生成子类来重写这些方法。
+     */
+    private final MethodOverrides methodOverrides = new MethodOverrides();
+
     /**
      * 构造函数：仅指定 Bean 类型。
      * 默认会初始化一个空的 PropertyValues，防止后续操作出现空指针异常。
@@ -52,6 +120,30 @@ public class BeanDefinition {
         this.propertyValues = propertyValues != null ? propertyValues : new PropertyValues();
     }
 
+    /**
+     * 构造函数：指定 Bean 类型和实例提供者。
+     *
+     * @param beanClass        Bean 的类型
+     * @param instanceSupplier 创建实例的回调
+     */
+    public BeanDefinition(Class beanClass, Supplier<?> instanceSupplier) {
+        this(beanClass);
+        this.instanceSupplier = instanceSupplier;
+    }
+
+    /**
+     * 构造函数：编译期生成的代码使用，指定依赖与实例化回调。
+     *
+     * @param beanClass    Bean 的类型
+     * @param dependsOn    依赖的 Bean 名称
+     * @param instantiator 实例化回调
+     */
+    public BeanDefinition(Class beanClass, String[] dependsOn, BeanInstantiator instantiator) {
+        this(beanClass);
+        this.dependsOn = dependsOn;
+        this.instantiator = instantiator;
+    }
+
     /**
      * 获取 Bean 的类型。
      *
@@ -87,4 +179,158 @@ public class BeanDefinition {
     public void setPropertyValues(PropertyValues propertyValues) {
         this.propertyValues = propertyValues;
     }
+
+    /**
+     * 获取实例提供者。
+     *
+     * @return 实例提供者；未设置时为 null
+     */
+    public Supplier<?> getInstanceSupplier() {
+        return instanceSupplier;
+    }
+
+    /**
+     * 设置实例提供者。
+     *
+     * @param instanceSupplier 创建实例的回调
+     */
+    public void setInstanceSupplier(Supplier<?> instanceSupplier) {
+        this.instanceSupplier = instanceSupplier;
+    }
+
+    /**
+     * 获取依赖的 Bean 名称。
+     *
+     * @return 依赖的 Bean 名称（不会为 null）
+     */
+    public String[] getDependsOn() {
+        return dependsOn;
+    }
+
+    /**
+     * 设置依赖的 Bean 名称。
+     *
+     * @param dependsOn 依赖的 Bean 名称
+     */
+    public void setDependsOn(String... dependsOn) {
+        this.dependsOn = dependsOn != null ? dependsOn : new String[0];
+    }
+
+    /**
+     * 获取编译期生成的实例化回调。
+     *
+     * @return 实例化回调；未设置时为 null
+     */
+    public BeanInstantiator getInstantiator() {
+        return instantiator;
+    }
+
+    /**
+     * 设置实例化回调。
+     *
+     * @param instantiator 实例化回调
+     */
+    public void setInstantiator(BeanInstantiator instantiator) {
+        this.instantiator = instantiator;
+    }
+
+    /**
+     * 获取 Bean 的作用域。
+     *
+     * @return 作用域名称
+     */
+    public String getScope() {
+        return scope;
+    }
+
+    /**
+     * 设置 Bean 的作用域。
+     *
+     * @param scope 作用域名称，如 {@link #SCOPE_SINGLETON}、{@link #SCOPE_PROTOTYPE}
+     */
+    public void setScope(String scope) {
+        this.scope = scope;
+    }
+
+    /**
+     * @return 是否为单例作用域
+     */
+    public boolean isSingleton() {
+        return SCOPE_SINGLETON.equals(scope);
+    }
+
+    /**
+     * @return 是否为原型作用域
+     */
+    public boolean isPrototype() {
+        return SCOPE_PROTOTYPE.equals(scope);
+    }
+
+    /**
+     * @return 是否为缓存作用域
+     */
+    public boolean isCacheScoped() {
+        return SCOPE_CACHE.equals(scope);
+    }
+
+    /**
+     * 获取缓存作用域的淘汰策略。
+     *
+     * @return 淘汰策略（不会为 null）
+     */
+    public CachePolicy getCachePolicy() {
+        return cachePolicy;
+    }
+
+    /**
+     * 设置淘汰策略，同时把作用域设为 {@link #SCOPE_CACHE}。
+     *
+     * @param cachePolicy 淘汰策略
+     */
+    public void setCachePolicy(CachePolicy cachePolicy) {
+        this.cachePolicy = cachePolicy;
+        this.scope = SCOPE_CACHE;
+    }
+
+    /**
+     * @return 是否为按参数记忆作用域
+     */
+    public boolean isMemoized() {
+        return SCOPE_MEMOIZED.equals(scope);
+    }
+
+    /**
+     * 获取按参数记忆作用域的缓存容量。
+     *
+     * @return 最多缓存的实例数
+     */
+    public int getMemoizedCacheSize() {
+        return memoizedCacheSize;
+    }
+
+    /**
+     * 设置缓存容量，同时把作用域设为 {@link #SCOPE_MEMOIZED}。
+     *
+     * @param memoizedCacheSize 最多缓存的实例数
+     */
+    public void setMemoizedCacheSize(int memoizedCacheSize) {
+        this.memoizedCacheSize = memoizedCacheSize;
+        this.scope = SCOPE_MEMOIZED;
+    }
+
+    /**
+     * 获取方法覆盖定义集合。
+     *
+     * @return 方法覆盖定义（不会为 null）
+     */
+    public MethodOverrides getMethodOverrides() {
+        return methodOverrides;
+    }
+
+    /**
+     * @return 是否声明了方法覆盖
+     */
+    public boolean hasMethodOverrides() {
+        return !methodOverrides.isEmpty();
+    }
 }
@@ -0,0 +1,21 @@
+package com.lj.framwork.beans.factory.config;
+
+/**
+ * @ClassName BeanDefinitionCustomizer
+ * @Description Bean 定义定制回调。
+ * 配合函数式注册使用：在 BeanDefinition 注册到容器之前对其进行调整，
+ * 例如追加属性值、声明对其他 Bean 的引用等。
+ * @Author Dark Chocolate 2069057986@qq.com
+ * @Date 2026/1/22 9:40
+ * @Version JDK 17
+ */
+@FunctionalInterface
+public interface BeanDefinitionCustomizer {
+
+    /**
+     * 定制给定的 Bean 定义。
+     * @param beanDefinition 待注册的 Bean 定义
+     */
+    void customize(BeanDefinition beanDefinition);
+
+}
@@ -0,0 +1,23 @@
+package com.lj.framwork.beans.factory.config;
+
+/**
+ * @ClassName BeanInstantiator
+ * @Description 由编译期生成的代码提供的实例化回调。
+ * 容器先按 {@link BeanDefinition#getDependsOn()} 的顺序解析出依赖的 Bean，再把它们传进来；
+ * 实现直接 new 出实例并调用 setter（或为字段赋值）完成注入，不使用任何反射。
+ * 容器不会再对返回的实例做 @Autowired 注入。
+ * @Author Dark Chocolate 2069057986@qq.com
+ * @Date 2026/2/3 9:20
+ * @Version JDK 17
+ */
+@FunctionalInterface
+public interface BeanInstantiator {
+
+    /**
+     * 创建并装配实例
+     * @param dependencies 依赖的 Bean，与 dependsOn 一一对应
+     * @return 装配好的实例
+     */
+    Object instantiate(Object[] dependencies);
+
+}
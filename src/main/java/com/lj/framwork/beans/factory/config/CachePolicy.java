@@ -0,0 +1,118 @@
+package com.lj.framwork.beans.factory.config;
+
+import java.time.Duration;
+
+/**
+ * @ClassName CachePolicy
+ * @Description 缓存作用域（{@link BeanDefinition#SCOPE_CACHE}）的淘汰策略，不可变。
+ * 三个条件可以组合使用，任意一个满足即淘汰：
+ * 1. 软引用：实例只被软引用持有，堆内存紧张时由 GC 回收。
+ * 2. 存活时间（TTL）：实例创建后超过该时长即过期。
+ * 3. 空闲时间：实例超过该时长没有被 getBean 访问即过期。
+ * 被淘汰的实例在下一次 getBean 时重新创建。
+ * @Author Dark Chocolate 2069057986@qq.com
+ * @Date 2026/2/1 9:20
+ * @Version JDK 17
+ */
+public final class CachePolicy {
+
+    /**
+     * 默认策略：仅软引用
+     */
+    public static final CachePolicy DEFAULT = new CachePolicy(true, 0L, 0L);
+
+    private final boolean softValues;
+
+    /**
+     * 存活时间（纳秒），0 表示不限
+     */
+    private final long timeToLiveNanos;
+
+    /**
+     * 最大空闲时间（纳秒），0 表示不限
+     */
+    private final long maxIdleNanos;
+
+    private CachePolicy(boolean softValues, long timeToLiveNanos, long maxIdleNanos) {
+        this.softValues = softValues;
+        this.timeToLiveNanos = timeToLiveNanos;
+        this.maxIdleNanos = maxIdleNanos;
+    }
+
+    /**
+     * @return 以软引用持有实例的策略
+     */
+    public static CachePolicy softValues() {
+        return DEFAULT;
+    }
+
+    /**
+     * @param timeToLive 存活时间
+     * @return 创建后超过存活时间即过期的策略（强引用持有）
+     */
+    public static CachePolicy expireAfterWrite(Duration timeToLive) {
+        return new CachePolicy(false, toNanos(timeToLive), 0L);
+    }
+
+    /**
+     * @param maxIdle 最大空闲时间
+     * @return 超过空闲时间未被访问即过期的策略（强引用持有）
+     */
+    public static CachePolicy expireAfterAccess(Duration maxIdle) {
+        return new CachePolicy(false, 0L, toNanos(maxIdle));
+    }
+
+    /**
+     * @return 在当前策略基础上改为软引用持有
+     */
+    public CachePolicy withSoftValues() {
+        return new CachePolicy(true, timeToLiveNanos, maxIdleNanos);
+    }
+
+    /**
+     * @param timeToLive 存活时间
+     * @return 在当前策略基础上增加存活时间限制
+     */
+    public CachePolicy withTimeToLive(Duration timeToLive) {
+        return new CachePolicy(softValues, toNanos(timeToLive), maxIdleNanos);
+    }
+
+    /**
+     * @param maxIdle 最大空闲时间
+     * @return 在当前策略基础上增加空闲时间限制
+     */
+    public CachePolicy withMaxIdle(Duration maxIdle) {
+        return new CachePolicy(softValues, timeToLiveNanos, toNanos(maxIdle));
+    }
+
+    public boolean isSoftValues() {
+        return softValues;
+    }
+
+    public long getTimeToLiveNanos() {
+        return timeToLiveNanos;
+    }
+
+    public long getMaxIdleNanos() {
+        return maxIdleNanos;
+    }
+
+    /**
+     * @return 是否需要按时间淘汰
+     */
+    public boolean isTimeBounded() {
+        return timeToLiveNanos > 0L || maxIdleNanos > 0L;
+    }
+
+    private static long toNanos(Duration duration) {
+        if (duration.isNegative() || duration.isZero()) {
+            throw new IllegalArgumentException("Duration must be positive: " + duration);
+        }
+        return duration.toNanos();
+    }
+
+    @Override
+    public String toString() {
+        return "CachePolicy{softValues=" + softValues + ", timeToLiveNanos=" + timeToLiveNanos + ", maxIdleNanos=" + maxIdleNanos + '}';
+    }
+}
@@ -0,0 +1,85 @@
+package com.lj.framwork.beans.factory.config;
+
+import java.lang.reflect.Method;
+import java.lang.reflect.Modifier;
+import java.util.Objects;
+
+/**
+ * @ClassName LookupOverride
+ * @Description 查找方法（lookup-method）覆盖定义。
+ * 声明 Bean 中的某个抽象方法由容器实现：每次调用都返回容器中指定名称的 Bean。
+ * 典型用法是单例 Bean 每次调用都拿到一个新的原型（prototype）协作对象，
+ * 而不必自己持有 BeanFactory 并按名称调用 getBean。
+ * 由 CglibSubclassingInstantiationStrategy 通过生成子类实现。
+ * @Author Dark Chocolate 2069057986@qq.com
+ * @Date 2026/1/27 9:30
+ * @Version JDK 17
+ */
+public class LookupOverride {
+
+    /**
+     * 被覆盖的方法名
+     */
+    private final String methodName;
+
+    /**
+     * 方法返回的目标 Bean 名称
+     */
+    private final String beanName;
+
+    /**
+     * @param methodName 被覆盖的方法名
+     * @param beanName   方法返回的目标 Bean 名称
+     */
+    public LookupOverride(String methodName, String beanName) {
+        this.methodName = methodName;
+        this.beanName = beanName;
+    }
+
+    public String getMethodName() {
+        return methodName;
+    }
+
+    public String getBeanName() {
+        return beanName;
+    }
+
+    /**
+     * 判断该覆盖定义是否作用于给定的方法。
+     * 只匹配无参、有返回值的同名抽象方法，不会拦截同名的重载方法或已有实现的具体方法。
+     * @param method 候选方法
+     * @return 匹配则返回 true
+     */
+    public boolean matches(Method method) {
+        return method.getName().equals(methodName)
+                && Modifier.isAbstract(method.getModifiers())
+                && method.getParameterCount() == 0
+                && method.getReturnType() != void.class;
+    }
+
+    @Override
+    public boolean equals(Object o) {
+        if (this == o) {
+            return true;
+        }
+        if (o == null || getClass() != o.getClass()) {
+            return false;
+        }
+        LookupOverride that = (LookupOverride) o;
+        return Objects.equals(methodName, that.methodName) && Objects.equals(beanName, that.beanName);
+    }
+
+    @Override
+    public int hashCode() {
+        return Objects.hash(methodName, beanName);
+    }
+
+    @Override
+    public String toString() {
+        return "LookupOverride{" +
+                "methodName='" + methodName + '\'' +
+                ", beanName='" + beanName + '\'' +
+                '}';
+    }
+
+}
@@ -0,0 +1,53 @@
+package com.lj.framwork.beans.factory.config;
+
+import java.lang.reflect.Method;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * @ClassName MethodOverrides
+ * @Description 方法覆盖定义集合。
+ * 保存一个 Bean 定义上声明的所有 {@link LookupOverride}，
+ * 实例化策略据此判断是否需要生成子类，以及哪些方法需要被拦截。
+ * @Author Dark Chocolate 2069057986@qq.com
+ * @Date 2026/1/27 9:42
+ * @Version JDK 17
+ */
+public class MethodOverrides {
+
+    private final List<LookupOverride> overrides = new ArrayList<>();
+
+    /**
+     * 添加一个方法覆盖定义
+     * @param override 覆盖定义
+     */
+    public void addOverride(LookupOverride override) {
+        this.overrides.add(override);
+    }
+
+    /**
+     * @return 所有覆盖定义
+     */
+    public List<LookupOverride> getOverrides() {
+        return this.overrides;
+    }
+
+    /**
+     * 查找作用于给定方法的覆盖定义
+     * @param method 候选方法
+     * @return 匹配的覆盖定义；没有则返回 null
+     */
+    public LookupOverride getOverride(Method method) {
+        for (LookupOverride override : this.overrides) {
+            if (override.matches(method)) {
+                return override;
+            }
+        }
+        return null;
+    }
+
+    public boolean isEmpty() {
+        return this.overrides.isEmpty();
+    }
+
+}
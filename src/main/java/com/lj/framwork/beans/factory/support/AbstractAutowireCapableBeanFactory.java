@@ -1,13 +1,31 @@
 package com.lj.framwork.beans.factory.support;
 
 import cn.hutool.core.bean.BeanUtil;
+import com.lj.framwork.aop.Advisor;
 import com.lj.framwork.beans.BeansException;
 import com.lj.framwork.beans.factory.PropertyValue;
 import com.lj.framwork.beans.factory.PropertyValues;
+import com.lj.framwork.beans.factory.annotation.InjectionMetadata;
 import com.lj.framwork.beans.factory.config.BeanDefinition;
 import com.lj.framwork.beans.factory.config.BeanReference;
+import com.lj.framwork.context.ApplicationEvent;
+import com.lj.framwork.context.ApplicationEventPublisher;
+import com.lj.framwork.context.ApplicationListener;
+import com.lj.framwork.context.event.ApplicationEventMulticaster;
+import com.lj.framwork.context.event.SimpleApplicationEventMulticaster;
 
 import java.lang.reflect.Constructor;
+import java.util.ArrayDeque;
+import java.util.Arrays;
+import java.util.Deque;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.function.Supplier;
 
 /**
  * @Author Dark Chocolate 2069057986@qq.com
@@ -16,10 +34,11 @@ import java.lang.reflect.Constructor;
  * 它是 Spring Bean 创建的核心实现者，负责了 Bean 的完整生命周期管理。
  * 核心流程包括：
  * 1. 实例化 (Instantiation)：根据 BeanDefinition 选定构造函数并创建对象。
- * 2. 属性填充 (Population)：识别普通属性值与 BeanReference 引用，并注入到对象中。
+ * 2. 属性填充 (Population)：先按类型注入 @Autowired 成员，再注入普通属性值与 BeanReference 引用。
  * 3. 初始化 (Initialization)：调用初始化钩子方法（待扩展）。
+ * 实现了 ApplicationEventPublisher：实现 ApplicationListener 的单例在创建完成后自动注册到事件广播器。
  */
-public abstract class AbstractAutowireCapableBeanFactory extends AbstractBeanFactory {
+public abstract class AbstractAutowireCapableBeanFactory extends AbstractBeanFactory implements ApplicationEventPublisher {
 
     /**
      * 实例化策略接口。
@@ -27,6 +46,45 @@ public abstract class AbstractAutowireCapableBeanFactory extends AbstractBeanFac
      */
     private InstantiationStrategy instantiationStrategy = new CglibSubclassingInstantiationStrategy();
 
+    /**
+     * 启动关键路径记录器。
+     * 为 null 时不做任何记录，创建流程没有额外开销。
+     */
+    private BeanStartupRecorder startupRecorder;
+
+    /**
+     * 通知器（AOP）。写时复制：新增通知器时整体替换数组，
+     * 实例化策略据此判断已生成的代理子类是否过期。
+     */
+    private volatile Advisor[] advisors = new Advisor[0];
+
+    /**
+     * 事件广播器，默认在发布线程中同步分发
+     */
+    private volatile ApplicationEventMulticaster applicationEventMulticaster = new SimpleApplicationEventMulticaster();
+
+    /**
+     * Bean 名称 -> 已注册到广播器的监听器单例。
+     * 同名单例被替换（并发重复创建或增量刷新）时，据此移除旧实例。
+     */
+    private final Map<String, ApplicationListener<?>> listenerBeans = new HashMap<>();
+
+    /**
+     * Bean 类型 -> @Autowired 注入元数据。每个类只反射扫描一次。
+     */
+    private final Map<Class<?>, InjectionMetadata> injectionMetadataCache = new ConcurrentHashMap<>();
+
+    /**
+     * 当前线程正在进行的增量刷新上下文。
+     * 刷新期间，对受影响 Bean 的引用解析到新建的“暂存实例”，而不是单例池中的旧实例。
+     */
+    private final ThreadLocal<RefreshContext> refreshContext = new ThreadLocal<>();
+
+    /**
+     * 增量刷新锁，保证同一时刻只有一次刷新在构建新子图
+     */
+    private final Object refreshMonitor = new Object();
+
     /**
      * 实现父类定义的无参创建逻辑。
      *
@@ -49,6 +107,33 @@ public abstract class AbstractAutowireCapableBeanFactory extends AbstractBeanFac
      */
     @Override
     protected Object createBean(String beanName, BeanDefinition beanDefinition, Object[] args) throws BeansException {
+        Object bean = doCreateBean(beanName, beanDefinition, args);
+
+        // 阶段三：注册到单例缓存
+        // 只有完整的、可用的单例 Bean 才会进入单例池；原型 Bean 每次都新建，不缓存。
+        if (beanDefinition.isSingleton()) {
+            addSingleton(beanName, bean);
+            registerListenerBean(beanName, bean);
+        }
+
+        return bean;
+    }
+
+    /**
+     * 实例化并填充属性，但不注册到单例缓存。
+     * 增量刷新会先用它构建出完整的新子图，再按依赖顺序替换单例。
+     *
+     * @param beanName       Bean 的名称
+     * @param beanDefinition Bean 的定义信息
+     * @param args           显式传入的构造参数（可为 null）
+     * @return 完整的 Bean 实例
+     */
+    protected Object doCreateBean(String beanName, BeanDefinition beanDefinition, Object[] args) throws BeansException {
+        BeanStartupRecorder recorder = this.startupRecorder;
+        if (recorder != null) {
+            recorder.beanCreationStarted(beanName);
+        }
+
         Object bean;
         try {
             // 阶段一：实例化
@@ -57,28 +142,83 @@ public abstract class AbstractAutowireCapableBeanFactory extends AbstractBeanFac
 
             // 阶段二：填充属性
             // 在对象有了“肉体”后，根据设计图（BeanDefinition）注入其依赖的“灵魂”（属性）。
+            // 先按类型注入 @Autowired 成员，显式声明的 PropertyValues 后写入，可以覆盖自动注入的结果。
+            // 编译期生成的实例化回调已经完成了注入，不再扫描注解。
+            if (!usesGeneratedInstantiator(beanDefinition)) {
+                autowireAnnotatedMembers(beanName, bean, beanDefinition);
+            }
             applyPropertyValues(beanName, bean, beanDefinition);
         } catch (Exception e) {
             throw new BeansException("Instantiation of bean failed", e);
+        } finally {
+            if (recorder != null) {
+                recorder.beanCreationFinished(beanName);
+            }
         }
+        return bean;
+    }
 
-        // 阶段三：注册到单例缓存
-        // 只有完整的、可用的 Bean 才会进入单例池。
-        addSingleton(beanName, bean);
+    /**
+     * 判断是否使用编译期生成的实例化回调。回调创建的是原始类的实例，
+     * 通知器（AOP）或查找方法需要生成子类时必须退回实例化策略，否则这些拦截会被悄悄跳过。
+     * 实例化与注入两个阶段使用同一个判断，保证退回时由运行时完成 @Autowired 注入。
+     */
+    private boolean usesGeneratedInstantiator(BeanDefinition beanDefinition) {
+        return beanDefinition.getInstantiator() != null && !requiresSubclass(beanDefinition);
+    }
 
-        return bean;
+    /**
+     * 判断该 Bean 是否需要由实例化策略生成子类（有匹配的通知器或声明了查找方法）
+     */
+    private boolean requiresSubclass(BeanDefinition beanDefinition) {
+        if (this.instantiationStrategy instanceof CglibSubclassingInstantiationStrategy) {
+            return ((CglibSubclassingInstantiationStrategy) this.instantiationStrategy).requiresSubclass(beanDefinition, this);
+        }
+        return beanDefinition.hasMethodOverrides();
     }
 
     /**
      * 实例化逻辑：负责寻找合适的构造函数。
      * Spring 这里的逻辑非常复杂，本实现简化为通过参数数量匹配构造函数。
+     * 如果 BeanDefinition 携带了编译期生成的实例化回调或实例提供者，则直接使用它们创建实例（此时忽略 args）。
+     * 实例化回调直接 new 原始类，当有通知器或查找方法需要拦截该 Bean 时不使用它，改走实例化策略和运行时注入。
+     * 实例提供者的创建逻辑由调用方决定，无法替换成生成的子类，因此与通知器、查找方法同时出现时直接报错。
      *
      * @param beanDefinition Bean 定义
      * @param beanName       Bean 名称
      * @param args           构造参数
      * @return 初始对象实例
+     * @throws BeansException 实例提供者注册的 Bean 需要生成子类时抛出
      */
     protected Object createBeanInstance(BeanDefinition beanDefinition, String beanName, Object[] args) {
+        // 编译期生成的 Bean：先解析依赖（记录依赖边），再由生成的代码直接 new 并装配
+        if (usesGeneratedInstantiator(beanDefinition)) {
+            String[] dependsOn = beanDefinition.getDependsOn();
+            Object[] dependencies = new Object[dependsOn.length];
+            for (int i = 0; i < dependsOn.length; i++) {
+                dependencies[i] = resolveBeanReference(beanName, dependsOn[i]);
+            }
+            Object instance = beanDefinition.getInstantiator().instantiate(dependencies);
+            if (instance == null) {
+                throw new BeansException("Generated instantiator for bean '" + beanName + "' returned null");
+            }
+            return instance;
+        }
+
+        // 函数式注册的 Bean：直接调用 Supplier，不经过反射查找构造函数，也不走实例化策略
+        Supplier<?> instanceSupplier = beanDefinition.getInstanceSupplier();
+        if (instanceSupplier != null) {
+            if (requiresSubclass(beanDefinition)) {
+                throw new BeansException("Bean '" + beanName + "' is created by an instance supplier and cannot be subclassed"
+                        + " for advisors or lookup methods; register it by class instead");
+            }
+            Object instance = instanceSupplier.get();
+            if (instance == null) {
+                throw new BeansException("Instance supplier for bean '" + beanName + "' returned null");
+            }
+            return instance;
+        }
+
         Constructor<?> constructorToUse = null;
         Class<?> beanClass = beanDefinition.getBeanClass();
 
@@ -97,7 +237,7 @@ public abstract class AbstractAutowireCapableBeanFactory extends AbstractBeanFac
         }
 
         // 委托给实例化策略完成真正的对象创建。
-        return getInstantiationStrategy().instantiate(beanDefinition, beanName, constructorToUse, args);
+        return getInstantiationStrategy().instantiate(beanDefinition, beanName, this, constructorToUse, args);
 
     }
 
@@ -122,7 +262,7 @@ public abstract class AbstractAutowireCapableBeanFactory extends AbstractBeanFac
                     // 如果值是引用类型，说明 A 依赖了 B。
                     // 此时触发 getBean(B) 逻辑。如果 B 尚未创建，这里会发生递归调用。
                     BeanReference beanReference = (BeanReference) value;
-                    value = getBean(beanReference.getBeanName());
+                    value = resolveBeanReference(beanName, beanReference.getBeanName());
                 }
 
                 // 属性填充：利用 Hutool 的反射工具类。
@@ -134,6 +274,227 @@ public abstract class AbstractAutowireCapableBeanFactory extends AbstractBeanFac
         }
     }
 
+    /**
+     * 注入标注了 @Autowired 的字段和 setter 方法。
+     * 注入元数据按 BeanDefinition 中的类型缓存（不使用 CGLIB 生成的子类），同一类型的后续实例不再反射扫描。
+     *
+     * @param beanName       Bean 名称
+     * @param bean           已实例化的原始对象
+     * @param beanDefinition Bean 定义元数据
+     */
+    protected void autowireAnnotatedMembers(String beanName, Object bean, BeanDefinition beanDefinition) {
+        InjectionMetadata metadata = getInjectionMetadata(beanDefinition.getBeanClass());
+        for (InjectionMetadata.InjectedElement element : metadata.getInjectedElements()) {
+            Object value = resolveDependency(beanName, element.getDependencyType(), element.getDependencyName(), element.isRequired());
+            if (value != null) {
+                element.inject(bean, value);
+            }
+        }
+    }
+
+    /**
+     * 获取指定类型的 @Autowired 注入元数据，每个类只反射扫描一次。
+     * @param beanClass Bean 类型（BeanDefinition 中的原始类型）
+     * @return 注入元数据
+     */
+    protected InjectionMetadata getInjectionMetadata(Class<?> beanClass) {
+        return injectionMetadataCache.computeIfAbsent(beanClass, InjectionMetadata::forClass);
+    }
+
+    /**
+     * 按类型解析依赖。唯一匹配时直接使用；匹配到多个时取名称与 dependencyName 相同的 Bean。
+     * Bean 不会被注入到自己身上。解析结果同样经过 {@link #resolveBeanReference}，因此会记录依赖边并参与增量刷新。
+     *
+     * @param beanName       依赖方 Bean 名称
+     * @param dependencyType 依赖类型
+     * @param dependencyName 字段名或属性名
+     * @param required       找不到时是否抛出异常
+     * @return 被依赖的 Bean；非必须且找不到时为 null
+     * @throws BeansException 必须的依赖找不到，或有多个候选且无法按名称区分时抛出
+     */
+    protected Object resolveDependency(String beanName, Class<?> dependencyType, String dependencyName, boolean required) throws BeansException {
+        String candidate = null;
+        int candidateCount = 0;
+        for (String candidateName : getBeanNamesForType(dependencyType)) {
+            if (candidateName.equals(beanName)) {
+                continue;
+            }
+            if (candidateName.equals(dependencyName)) {
+                return resolveBeanReference(beanName, candidateName);
+            }
+            candidate = candidateName;
+            candidateCount++;
+        }
+        if (candidateCount == 1) {
+            return resolveBeanReference(beanName, candidate);
+        }
+        if (candidateCount == 0) {
+            if (required) {
+                throw new BeansException("No qualifying bean of type [" + dependencyType.getName() + "] for dependency '"
+                        + dependencyName + "' of bean '" + beanName + "'");
+            }
+            return null;
+        }
+        throw new BeansException("Expected single matching bean of type [" + dependencyType.getName() + "] for dependency '"
+                + dependencyName + "' of bean '" + beanName + "' but found " + candidateCount);
+    }
+
+    /**
+     * 获取类型匹配的所有 Bean 名称（按 BeanDefinition 中的类型判断，不会触发创建）。
+     * 由持有 Bean 定义注册表的子类实现。
+     *
+     * @param type 类型（可以是接口或父类）
+     * @return 匹配的 Bean 名称
+     */
+    protected abstract String[] getBeanNamesForType(Class<?> type);
+
+    /**
+     * 解析 BeanReference：记录依赖边，并返回被依赖的 Bean。
+     * 增量刷新期间，受影响的 Bean 解析为本次刷新新建的实例。
+     *
+     * @param beanName    依赖方 Bean 名称
+     * @param refBeanName 被依赖的 Bean 名称
+     * @return 被依赖的 Bean 实例
+     * @throws BeansException 非原型 Bean 直接依赖缓存作用域 Bean 时抛出
+     */
+    protected Object resolveBeanReference(String beanName, String refBeanName) {
+        checkCacheScopedDependency(beanName, refBeanName);
+        if (startupRecorder != null) {
+            startupRecorder.recordDependency(beanName, refBeanName);
+        }
+
+        RefreshContext context = refreshContext.get();
+        if (context == null) {
+            registerDependentBean(refBeanName, beanName);
+            return getBean(refBeanName);
+        }
+        context.dependencies.computeIfAbsent(beanName, k -> new LinkedHashSet<>()).add(refBeanName);
+        if (context.affectedBeans.contains(refBeanName)) {
+            return getStagedBean(context, refBeanName);
+        }
+        return getBean(refBeanName);
+    }
+
+    /**
+     * 缓存作用域的 Bean 会被淘汰、重建，而单例等长期存活的 Bean 注入后会一直强引用注入时的那个实例：
+     * 淘汰释放不了内存，重建后依赖方仍然持有旧实例。因此只允许原型 Bean 直接注入缓存作用域的 Bean，
+     * 其余情况应通过查找方法（lookup-method）或每次 getBean 获取。
+     */
+    private void checkCacheScopedDependency(String beanName, String refBeanName) throws BeansException {
+        if (containsSingleton(refBeanName) || !getBeanDefinition(refBeanName).isCacheScoped()) {
+            return;
+        }
+        if (!getBeanDefinition(beanName).isPrototype()) {
+            throw new BeansException("Bean '" + beanName + "' must not hold cache-scoped bean '" + refBeanName
+                    + "': the cached instance can be evicted and recreated; use a lookup method or getBean instead");
+        }
+    }
+
+    /**
+     * 增量刷新：重新创建指定的单例以及（传递地）依赖它的所有已创建单例。
+     * 新实例先全部构建在暂存区中，构建成功后才按依赖顺序替换进单例池，
+     * 因此并发的 getBean 永远看不到半成品的依赖图；构建失败时旧实例保持不变。
+     * 与该子图无关的单例原样保留。
+     * 新定义不再是单例（原型、缓存、按参数记忆作用域）时，旧单例及其监听器注册被移除而不是重建，
+     * 之后按新作用域获取；仍是单例的依赖方照常重建，并按新作用域解析到它。
+     *
+     * @param beanName 定义发生变化的 Bean 名称
+     * @throws BeansException 重新创建失败时抛出
+     */
+    protected void refreshSingleton(String beanName) throws BeansException {
+        synchronized (this.refreshMonitor) {
+            if (!containsSingleton(beanName)) {
+                return;
+            }
+
+            // 沿“谁依赖我”的边做广度优先遍历，收集受影响的子图
+            Set<String> affectedBeans = new LinkedHashSet<>();
+            affectedBeans.add(beanName);
+            Deque<String> queue = new ArrayDeque<>(affectedBeans);
+            while (!queue.isEmpty()) {
+                for (String dependent : getDependentBeans(queue.poll())) {
+                    if (containsSingleton(dependent) && affectedBeans.add(dependent)) {
+                        queue.add(dependent);
+                    }
+                }
+            }
+
+            // 不再是单例：先从单例池移除，依赖方重建时按新作用域获取它；失败时放回
+            Object retiredSingleton = null;
+            boolean retired = !getBeanDefinition(beanName).isSingleton();
+            if (retired) {
+                affectedBeans.remove(beanName);
+                retiredSingleton = removeSingleton(beanName);
+            }
+
+            RefreshContext context = new RefreshContext(affectedBeans);
+            refreshContext.set(context);
+            try {
+                for (String affectedBean : affectedBeans) {
+                    getStagedBean(context, affectedBean);
+                }
+            } catch (RuntimeException e) {
+                if (retired) {
+                    addSingleton(beanName, retiredSingleton);
+                }
+                throw e;
+            } finally {
+                refreshContext.remove();
+            }
+
+            replaceSingletons(context.stagedBeans, context.dependencies);
+            if (retired) {
+                removeDependenciesForBean(beanName);
+                registerListenerBean(beanName, null);
+            }
+            for (Map.Entry<String, Object> staged : context.stagedBeans.entrySet()) {
+                registerListenerBean(staged.getKey(), staged.getValue());
+            }
+        }
+    }
+
+    /**
+     * 把监听器单例注册到事件广播器；同名的旧实例（如果有）先移除。
+     *
+     * @param beanName Bean 名称
+     * @param bean     当前的单例实例，为 null 时只移除旧实例
+     */
+    private void registerListenerBean(String beanName, Object bean) {
+        synchronized (this.listenerBeans) {
+            ApplicationListener<?> previous = bean instanceof ApplicationListener
+                    ? this.listenerBeans.put(beanName, (ApplicationListener<?>) bean)
+                    : this.listenerBeans.remove(beanName);
+            if (previous != null && previous != bean) {
+                this.applicationEventMulticaster.removeApplicationListener(previous);
+            }
+            if (bean instanceof ApplicationListener) {
+                this.applicationEventMulticaster.addApplicationListener((ApplicationListener<?>) bean);
+            }
+        }
+    }
+
+    /**
+     * 发布事件：交给事件广播器分发给所有匹配的监听器。
+     *
+     * @param event 事件
+     */
+    @Override
+    public void publishEvent(ApplicationEvent event) {
+        this.applicationEventMulticaster.multicastEvent(event);
+    }
+
+    /**
+     * 获取（必要时创建）本次刷新中的暂存实例。
+     */
+    private Object getStagedBean(RefreshContext context, String beanName) {
+        Object bean = context.stagedBeans.get(beanName);
+        if (bean == null) {
+            bean = doCreateBean(beanName, getBeanDefinition(beanName), null);
+            context.stagedBeans.put(beanName, bean);
+        }
+        return bean;
+    }
+
     /**
      * 获取当前的实例化策略。
      */
@@ -150,4 +511,101 @@ public abstract class AbstractAutowireCapableBeanFactory extends AbstractBeanFac
         this.instantiationStrategy = instantiationStrategy;
     }
 
+    /**
+     * 添加一个通知器。之后创建的 Bean 会通过 CGLIB 子类应用匹配的通知，
+     * 已经创建的单例不受影响，因此通知器应在获取 Bean 之前注册。
+     *
+     * @param advisor 通知器
+     */
+    public synchronized void addAdvisor(Advisor advisor) {
+        Advisor[] previousAdvisors = this.advisors;
+        Advisor[] newAdvisors = Arrays.copyOf(previousAdvisors, previousAdvisors.length + 1);
+        newAdvisors[newAdvisors.length - 1] = advisor;
+        this.advisors = newAdvisors;
+        // 按旧通知器集合生成的子类不会再被使用
+        if (this.instantiationStrategy instanceof CglibSubclassingInstantiationStrategy) {
+            ((CglibSubclassingInstantiationStrategy) this.instantiationStrategy).removeEnhancedSubclasses(previousAdvisors);
+        }
+    }
+
+    /**
+     * 获取所有已注册的通知器。
+     *
+     * @return 通知器列表（只读）
+     */
+    public List<Advisor> getAdvisors() {
+        return List.of(this.advisors);
+    }
+
+    /**
+     * 供实例化策略使用的通知器数组，调用方不得修改
+     */
+    Advisor[] getAdvisorArray() {
+        return this.advisors;
+    }
+
+    /**
+     * 获取事件广播器。
+     */
+    public ApplicationEventMulticaster getApplicationEventMulticaster() {
+        return this.applicationEventMulticaster;
+    }
+
+    /**
+     * 替换事件广播器（例如配置了异步执行器的实例），已注册的监听器单例会迁移到新的广播器上。
+     *
+     * @param applicationEventMulticaster 事件广播器
+     */
+    public void setApplicationEventMulticaster(ApplicationEventMulticaster applicationEventMulticaster) {
+        synchronized (this.listenerBeans) {
+            for (ApplicationListener<?> listener : this.listenerBeans.values()) {
+                applicationEventMulticaster.addApplicationListener(listener);
+            }
+            this.applicationEventMulticaster = applicationEventMulticaster;
+        }
+    }
+
+    /**
+     * 获取启动关键路径记录器。
+     *
+     * @return 记录器；未开启时为 null
+     */
+    public BeanStartupRecorder getStartupRecorder() {
+        return this.startupRecorder;
+    }
+
+    /**
+     * 设置启动关键路径记录器，传入 null 即关闭记录。
+     *
+     * @param startupRecorder 记录器
+     */
+    public void setStartupRecorder(BeanStartupRecorder startupRecorder) {
+        this.startupRecorder = startupRecorder;
+    }
+
+    /**
+     * 一次增量刷新的暂存状态
+     */
+    private static final class RefreshContext {
+
+        /**
+         * 需要重建的 Bean 名称
+         */
+        private final Set<String> affectedBeans;
+
+        /**
+         * 已经构建好的新实例。实例在它的依赖构建完成后才放入，迭代顺序即依赖顺序（被依赖的在前）
+         */
+        private final Map<String, Object> stagedBeans = new LinkedHashMap<>();
+
+        /**
+         * 新实例产生的依赖边：Bean 名称 -> 它所依赖的 Bean 名称
+         */
+        private final Map<String, Set<String>> dependencies = new LinkedHashMap<>();
+
+        private RefreshContext(Set<String> affectedBeans) {
+            this.affectedBeans = affectedBeans;
+        }
+    }
+
 }
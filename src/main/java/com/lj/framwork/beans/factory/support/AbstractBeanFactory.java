@@ -4,12 +4,18 @@ import com.lj.framwork.beans.BeansException;
 import com.lj.framwork.beans.factory.BeanFactory;
 import com.lj.framwork.beans.factory.config.BeanDefinition;
 
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicLong;
+
 /**
  * @ClassName AbstractBeanFactory
  * @Description 抽象 Bean 工厂基类。
  * 采用了“模板方法”设计模式，统一管理了 Bean 的获取流程：
  * 1. 尝试从单例缓存中获取。
- * 2. 如果缓存没有，则获取 Bean 定义并创建新的 Bean 实例。
+ * 2. 如果缓存没有，则获取 Bean 定义并创建新的 Bean 实例；
+ *    缓存作用域的 Bean 交给 CachedBeanRegistry，被淘汰后在这里透明地重新创建；
+ *    按参数记忆作用域的 Bean 交给该 Bean 的 ArgumentKeyedBeanCache，相同参数不再重复构造。
  * 继承了 DefaultSingletonBeanRegistry，使其具备了单例注册和缓存的能力。
  * 实现了 BeanFactory 接口，对外提供标准的 getBean 方法。
  * @Author Dark Chocolate 2069057986@qq.com
@@ -18,6 +24,22 @@ import com.lj.framwork.beans.factory.config.BeanDefinition;
  */
 public abstract class AbstractBeanFactory extends DefaultSingletonBeanRegistry implements BeanFactory {
 
+    /**
+     * 缓存作用域 Bean 的注册表
+     */
+    private volatile CachedBeanRegistry cachedBeanRegistry = new CachedBeanRegistry();
+
+    /**
+     * Bean 名称 -> 按参数记忆作用域的实例缓存
+     */
+    private final Map<String, ArgumentKeyedBeanCache> argumentKeyedBeanCaches = new ConcurrentHashMap<>();
+
+    /**
+     * Bean 定义的版本号：每次注册（包括覆盖、回滚）Bean 定义后递增。
+     * 缓存了定义解析结果的组件（如查找方法拦截器）只需比较版本号，就能知道是否需要重新解析
+     */
+    private final AtomicLong beanDefinitionVersion = new AtomicLong();
+
     /**
      * 获取 Bean 实例的核心逻辑（模板方法）。
      * * @param beanName 需要检索的 Bean 名称
@@ -36,7 +58,16 @@ public abstract class AbstractBeanFactory extends DefaultSingletonBeanRegistry i
         // 该方法由子类实现，因为不同的子类可能有不同的存储方式（如 XML 或 Map）
         BeanDefinition beanDefinition = getBeanDefinition(beanName);
 
-        // 3. 根据图纸创建新的 Bean 实例
+        // 3. 缓存作用域：命中则直接返回，已被淘汰则重新创建
+        if (beanDefinition.isCacheScoped()) {
+            return cachedBeanRegistry.getBean(beanName, beanDefinition.getCachePolicy(), () -> createBean(beanName, beanDefinition));
+        }
+        // 按参数记忆作用域：不传参数等同于空参数元组
+        if (beanDefinition.isMemoized()) {
+            return getArgumentKeyedBeanCache(beanName, beanDefinition).get(null, () -> createBean(beanName, beanDefinition));
+        }
+
+        // 4. 根据图纸创建新的 Bean 实例
         // 该方法同样由具体负责“生产”的子类来实现
         return createBean(beanName, beanDefinition);
     }
@@ -54,10 +85,81 @@ public abstract class AbstractBeanFactory extends DefaultSingletonBeanRegistry i
         // 3. 如果缓存没有，则获取该 Bean 的定义信息（图纸）
         BeanDefinition beanDefinition = getBeanDefinition(beanName);
 
-        // 4. 调用 createBean 开启生命周期，并将 args 传进去用于实例化
+        // 4. 缓存作用域：命中时忽略 args，只有重新创建时才使用
+        if (beanDefinition.isCacheScoped()) {
+            return cachedBeanRegistry.getBean(beanName, beanDefinition.getCachePolicy(), () -> createBean(beanName, beanDefinition, args));
+        }
+        // 按参数记忆作用域：以 args 元组为键，命中时完全跳过构造
+        if (beanDefinition.isMemoized()) {
+            return getArgumentKeyedBeanCache(beanName, beanDefinition).get(args, () -> createBean(beanName, beanDefinition, args));
+        }
+
+        // 5. 调用 createBean 开启生命周期，并将 args 传进去用于实例化
         return createBean(beanName, beanDefinition, args);
     }
 
+    private ArgumentKeyedBeanCache getArgumentKeyedBeanCache(String beanName, BeanDefinition beanDefinition) {
+        ArgumentKeyedBeanCache cache = argumentKeyedBeanCaches.get(beanName);
+        if (cache == null) {
+            cache = argumentKeyedBeanCaches.computeIfAbsent(beanName, k -> new ArgumentKeyedBeanCache(beanName, beanDefinition.getMemoizedCacheSize()));
+        }
+        return cache;
+    }
+
+    /**
+     * 获取按参数记忆作用域 Bean 的实例缓存（可查看命中率等统计）。
+     * @param beanName Bean 名称
+     * @return 实例缓存；该 Bean 还没有被获取过或不是按参数记忆作用域时为 null
+     */
+    public ArgumentKeyedBeanCache getArgumentKeyedBeanCache(String beanName) {
+        return argumentKeyedBeanCaches.get(beanName);
+    }
+
+    /**
+     * 丢弃 Bean 的按参数实例缓存（Bean 定义变化时调用），下次获取时按新定义重建。
+     * @param beanName Bean 名称
+     */
+    protected void removeArgumentKeyedBeanCache(String beanName) {
+        argumentKeyedBeanCaches.remove(beanName);
+    }
+
+    /**
+     * 获取缓存作用域 Bean 的注册表（可查看创建、淘汰次数，或主动淘汰）。
+     * @return 缓存作用域 Bean 的注册表
+     */
+    public CachedBeanRegistry getCachedBeanRegistry() {
+        return cachedBeanRegistry;
+    }
+
+    /**
+     * 替换缓存作用域 Bean 的注册表（例如使用自定义时间来源），应在获取 Bean 之前调用。
+     * @param cachedBeanRegistry 新的注册表
+     */
+    public void setCachedBeanRegistry(CachedBeanRegistry cachedBeanRegistry) {
+        this.cachedBeanRegistry = cachedBeanRegistry;
+    }
+
+    /**
+     * @return 当前的 Bean 定义版本号
+     */
+    long getBeanDefinitionVersion() {
+        return beanDefinitionVersion.get();
+    }
+
+    /**
+     * Bean 定义写入注册表之后调用，使按旧版本缓存的解析结果失效。
+     */
+    protected void beanDefinitionChanged() {
+        beanDefinitionVersion.incrementAndGet();
+    }
+
+    /**
+     * 判断是否注册了指定名称的 Bean 定义。
+     * @param beanName Bean 名称
+     * @return 已注册返回 true
+     */
+    protected abstract boolean containsBeanDefinition(String beanName);
+
     /**
      * 获取指定名称的 Bean 定义信息。
      * 这是一个抽象方法，交由子类（如 DefaultListableBeanFactory）去实现具体的查找逻辑。
@@ -0,0 +1,305 @@
+package com.lj.framwork.beans.factory.support;
+
+import com.lj.framwork.beans.BeansException;
+
+import java.util.Arrays;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.function.Supplier;
+
+/**
+ * @ClassName ArgumentKeyedBeanCache
+ * @Description 按构造参数元组缓存实例的有界缓存（memoized 作用域使用）。
+ * 相同参数（按 {@link Arrays#deepEquals} 比较）的 getBean(name, args) 直接返回同一个实例，不再构造。
+ * 淘汰算法为 CLOCK（二次机会，LRU 的经典近似）：
+ * 1. 命中：一次 ConcurrentHashMap 查找（查找键直接包装调用方的参数数组，不复制），
+ *    再把条目的“最近访问”标记置位，不加锁，也不调整任何链表。
+ * 2. 未命中：复制参数数组作为缓存键，在锁外构造实例，然后在锁内插入环形数组；缓存已满时指针沿环扫描，
+ *    清除遇到的访问标记，淘汰第一个没有被再次访问过的条目。
+ * 同一参数元组的并发未命中只构造一次：第一个线程登记一个 future 负责构造，其余线程等待它的结果；
+ * 不同参数的构造互不阻塞。构造过程中同一线程再次请求相同参数（循环依赖）时直接报错，而不是等待自己永远完成不了的构造。
+ * 记录命中、未命中、等待与淘汰次数，用于观察命中率；等待其它线程构造的请求单独计数，不算作命中。
+ * @Author Dark Chocolate 2069057986@qq.com
+ * @Date 2026/2/2 9:40
+ * @Version JDK 17
+ */
+public class ArgumentKeyedBeanCache {
+
+    private static final int INITIAL_RING_SIZE = 16;
+
+    private final String beanName;
+
+    private final int maximumSize;
+
+    private final Map<ArgumentKey, Node> entries = new ConcurrentHashMap<>();
+
+    /**
+     * 正在构造中的参数元组 -> 构造任务。只在构造期间存在
+     */
+    private final Map<ArgumentKey, PendingCreation> pendingCreations = new ConcurrentHashMap<>();
+
+    /**
+     * CLOCK 环，按需扩容到 maximumSize。以下三个字段都只在 this 锁内访问
+     */
+    private Node[] ring;
+
+    private int count;
+
+    private int hand;
+
+    private final LongAdder hitCount = new LongAdder();
+
+    private final LongAdder missCount = new LongAdder();
+
+    private final LongAdder waitCount = new LongAdder();
+
+    private final LongAdder evictionCount = new LongAdder();
+
+    /**
+     * @param beanName    所属 Bean 的名称，用于错误信息
+     * @param maximumSize 最多缓存的实例数
+     */
+    public ArgumentKeyedBeanCache(String beanName, int maximumSize) {
+        if (maximumSize <= 0) {
+            throw new IllegalArgumentException("maximumSize must be positive: " + maximumSize);
+        }
+        this.beanName = beanName;
+        this.maximumSize = maximumSize;
+        this.ring = new Node[Math.min(maximumSize, INITIAL_RING_SIZE)];
+    }
+
+    /**
+     * 获取参数对应的实例，不存在时通过 beanFactory 创建并缓存。
+     * @param args        构造参数（可为 null，等同于空参数）
+     * @param beanFactory 创建实例的回调
+     * @return Bean 实例
+     * @throws BeansException 当前线程正在构造相同参数的实例（循环依赖）时抛出
+     */
+    public Object get(Object[] args, Supplier<Object> beanFactory) throws BeansException {
+        ArgumentKey lookupKey = ArgumentKey.wrap(args);
+        Node node = entries.get(lookupKey);
+        if (node != null) {
+            // 已经置位时不再写，避免热点条目的缓存行被反复写脏
+            if (!node.referenced) {
+                node.referenced = true;
+            }
+            hitCount.increment();
+            return node.value;
+        }
+
+        // 要放入缓存的键必须复制参数数组，调用方之后修改原数组不会影响缓存
+        ArgumentKey key = lookupKey.copy();
+        PendingCreation pending = new PendingCreation();
+        CompletableFuture<Object> creation = pending.future;
+        PendingCreation inFlight = pendingCreations.putIfAbsent(key, pending);
+        if (inFlight != null) {
+            if (inFlight.builder == Thread.currentThread()) {
+                throw new BeansException("Circular reference: memoized bean '" + beanName + "' with arguments "
+                        + Arrays.deepToString(args) + " is requested again while it is being created");
+            }
+            // 其它线程正在构造相同参数的实例，等待它的结果
+            waitCount.increment();
+            return await(inFlight.future);
+        }
+        try {
+            // 登记之前，上一个构造者可能刚刚完成并移除了它的 future
+            node = entries.get(key);
+            if (node != null) {
+                hitCount.increment();
+                creation.complete(node.value);
+                return node.value;
+            }
+            missCount.increment();
+            Object created = beanFactory.get();
+            synchronized (this) {
+                insert(new Node(key, created));
+            }
+            creation.complete(created);
+            return created;
+        } catch (RuntimeException | Error e) {
+            creation.completeExceptionally(e);
+            throw e;
+        } finally {
+            // 先放入缓存再移除 future，后来的线程总能看到其中之一
+            pendingCreations.remove(key, pending);
+        }
+    }
+
+    private static Object await(CompletableFuture<Object> creation) {
+        try {
+            return creation.join();
+        } catch (CompletionException e) {
+            Throwable cause = e.getCause();
+            if (cause instanceof RuntimeException) {
+                throw (RuntimeException) cause;
+            }
+            if (cause instanceof Error) {
+                throw (Error) cause;
+            }
+            throw e;
+        }
+    }
+
+    /**
+     * 把新条目放入环中，必要时按 CLOCK 淘汰一个条目。调用方持有 this 锁。
+     */
+    private void insert(Node node) {
+        if (count < maximumSize) {
+            if (count == ring.length) {
+                ring = Arrays.copyOf(ring, Math.min(maximumSize, ring.length * 2));
+            }
+            ring[count++] = node;
+        } else {
+            while (ring[hand].referenced) {
+                ring[hand].referenced = false;
+                hand = (hand + 1) % count;
+            }
+            entries.remove(ring[hand].key);
+            evictionCount.increment();
+            ring[hand] = node;
+            hand = (hand + 1) % count;
+        }
+        entries.put(node.key, node);
+    }
+
+    /**
+     * 清空缓存（统计数据保留）
+     */
+    public synchronized void clear() {
+        entries.clear();
+        Arrays.fill(ring, null);
+        count = 0;
+        hand = 0;
+    }
+
+    /**
+     * @return 当前缓存的实例数
+     */
+    public int size() {
+        return entries.size();
+    }
+
+    public int getMaximumSize() {
+        return maximumSize;
+    }
+
+    public long getHitCount() {
+        return hitCount.sum();
+    }
+
+    public long getMissCount() {
+        return missCount.sum();
+    }
+
+    /**
+     * @return 等待其它线程构造相同参数而得到实例的次数
+     */
+    public long getWaitCount() {
+        return waitCount.sum();
+    }
+
+    public long getEvictionCount() {
+        return evictionCount.sum();
+    }
+
+    /**
+     * @return 命中率（0 ~ 1）：直接从缓存取得实例的请求占全部请求（命中 + 未命中 + 等待）的比例，还没有任何请求时为 0
+     */
+    public double getHitRatio() {
+        long hits = hitCount.sum();
+        long requests = hits + missCount.sum() + waitCount.sum();
+        return requests == 0L ? 0.0 : (double) hits / requests;
+    }
+
+    @Override
+    public String toString() {
+        return String.format("ArgumentKeyedBeanCache{size=%d, maximumSize=%d, hits=%d, misses=%d, waits=%d, evictions=%d, hitRatio=%.4f}",
+                size(), maximumSize, getHitCount(), getMissCount(), getWaitCount(), getEvictionCount(), getHitRatio());
+    }
+
+    /**
+     * 一次进行中的构造：记录负责构造的线程，用于识别同一线程内的循环请求
+     */
+    private static final class PendingCreation {
+
+        private final Thread builder = Thread.currentThread();
+
+        private final CompletableFuture<Object> future = new CompletableFuture<>();
+    }
+
+    /**
+     * 缓存条目
+     */
+    private static final class Node {
+
+        private final ArgumentKey key;
+
+        private final Object value;
+
+        /**
+         * 上次被 CLOCK 指针扫过之后是否被访问过
+         */
+        private volatile boolean referenced;
+
+        private Node(ArgumentKey key, Object value) {
+            this.key = key;
+            this.value = value;
+        }
+    }
+
+    /**
+     * 参数元组。查找时直接包装调用方的数组（{@link #wrap}），只有放入缓存的键才复制数组（{@link #copy}）。
+     */
+    private static final class ArgumentKey {
+
+        private static final Object[] NO_ARGS = new Object[0];
+
+        private static final ArgumentKey EMPTY = new ArgumentKey(NO_ARGS, Arrays.deepHashCode(NO_ARGS));
+
+        private final Object[] args;
+
+        private final int hashCode;
+
+        private ArgumentKey(Object[] args, int hashCode) {
+            this.args = args;
+            this.hashCode = hashCode;
+        }
+
+        /**
+         * @return 不复制数组的查找键，只能用于查找，不能放入缓存
+         */
+        private static ArgumentKey wrap(Object[] args) {
+            if (args == null || args.length == 0) {
+                return EMPTY;
+            }
+            return new ArgumentKey(args, Arrays.deepHashCode(args));
+        }
+
+        /**
+         * @return 持有参数数组副本的键，可以长期保存
+         */
+        private ArgumentKey copy() {
+            return args == NO_ARGS ? this : new ArgumentKey(args.clone(), hashCode);
+        }
+
+        @Override
+        public boolean equals(Object o) {
+            if (this == o) {
+                return true;
+            }
+            if (!(o instanceof ArgumentKey)) {
+                return false;
+            }
+            ArgumentKey other = (ArgumentKey) o;
+            return hashCode == other.hashCode && Arrays.deepEquals(args, other.args);
+        }
+
+        @Override
+        public int hashCode() {
+            return hashCode;
+        }
+    }
+}
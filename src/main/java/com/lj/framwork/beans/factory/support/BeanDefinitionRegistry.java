@@ -18,6 +18,7 @@ public interface BeanDefinitionRegistry {
 
     /**
      * 向注册表中注册一个新的 Bean 定义。
+     * 同名的旧定义会被覆盖。
      * @param beanName 需要注册的 Bean 实例名称，作为唯一索引
      * @param beanDefinition 包含 Bean 实例化信息的定义对象（蓝图）
      */
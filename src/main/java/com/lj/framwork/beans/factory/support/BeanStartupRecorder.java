@@ -0,0 +1,275 @@
+package com.lj.framwork.beans.factory.support;
+
+import cn.hutool.json.JSONUtil;
+
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.Deque;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.TreeSet;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * @ClassName BeanStartupRecorder
+ * @Description 启动关键路径记录器。
+ * 在 Bean 创建期间记录两类信息：
+ * 1. 每个 Bean 的“自身耗时”：创建总耗时减去其间递归创建依赖 Bean 所花的时间。
+ * 2. 依赖边：由 PropertyValues 中的 BeanReference 产生的 “A 依赖 B” 关系。
+ * 基于这张带权依赖图，可以算出决定启动时间的关键路径（自身耗时之和最大的一条依赖链），
+ * 并导出为 DOT 或 JSON 格式，用于判断哪些 Bean 值得延迟加载或优化。
+ * 默认不启用，通过 {@link AbstractAutowireCapableBeanFactory#setStartupRecorder} 开启。
+ * @Author Dark Chocolate 2069057986@qq.com
+ * @Date 2026/1/20 10:12
+ * @Version JDK 17
+ */
+public class BeanStartupRecorder {
+
+    /**
+     * 当前线程正在创建中的 Bean 栈。
+     * 依赖 Bean 的创建发生在父 Bean 的属性填充阶段（递归 getBean），
+     * 所以用栈即可把子 Bean 的耗时从父 Bean 的耗时中扣除。
+     */
+    private final ThreadLocal<Deque<CreationFrame>> creationStack = ThreadLocal.withInitial(ArrayDeque::new);
+
+    /**
+     * Bean 名称 -> 自身耗时（纳秒）。同名 Bean 多次创建时累加。
+     */
+    private final Map<String, Long> selfNanos = new ConcurrentHashMap<>();
+
+    /**
+     * Bean 名称 -> 它所依赖的 Bean 名称集合
+     */
+    private final Map<String, Set<String>> dependencies = new ConcurrentHashMap<>();
+
+    /**
+     * 标记一个 Bean 开始创建。
+     * @param beanName Bean 名称
+     */
+    public void beanCreationStarted(String beanName) {
+        creationStack.get().push(new CreationFrame(beanName, System.nanoTime()));
+    }
+
+    /**
+     * 标记一个 Bean 创建结束（无论成功与否），并结算其自身耗时。
+     * 该方法在 doCreateBean 的 finally 中调用，不能抛出异常，否则会掩盖创建过程中的原始异常：
+     * 记录不配对时（栈顶不是该 Bean）丢弃其上方未结束的记录；栈中没有该 Bean 时直接忽略。
+     * @param beanName Bean 名称
+     */
+    public void beanCreationFinished(String beanName) {
+        Deque<CreationFrame> stack = creationStack.get();
+        CreationFrame frame = null;
+        for (CreationFrame candidate : stack) {
+            if (candidate.beanName.equals(beanName)) {
+                frame = candidate;
+                break;
+            }
+        }
+        if (frame == null) {
+            return;
+        }
+        // 丢弃未正常结束的内层记录，直到弹出该 Bean 自己的记录
+        CreationFrame popped;
+        do {
+            popped = stack.poll();
+        } while (popped != frame);
+        long elapsed = System.nanoTime() - frame.startNanos;
+        selfNanos.merge(beanName, Math.max(0L, elapsed - frame.childNanos), Long::sum);
+
+        // 把本 Bean 的总耗时计入父 Bean 的“子耗时”，父 Bean 结算时会扣除
+        CreationFrame parent = stack.peek();
+        if (parent != null) {
+            parent.childNanos += elapsed;
+        }
+    }
+
+    /**
+     * 记录一条依赖边：beanName 依赖 dependsOn。
+     * @param beanName  依赖方 Bean 名称
+     * @param dependsOn 被依赖的 Bean 名称
+     */
+    public void recordDependency(String beanName, String dependsOn) {
+        dependencies.computeIfAbsent(beanName, k -> ConcurrentHashMap.newKeySet()).add(dependsOn);
+    }
+
+    /**
+     * 获取指定 Bean 的自身耗时。
+     * @param beanName Bean 名称
+     * @return 自身耗时（纳秒）；未记录过则返回 0
+     */
+    public long getSelfNanos(String beanName) {
+        return selfNanos.getOrDefault(beanName, 0L);
+    }
+
+    /**
+     * 获取指定 Bean 记录到的直接依赖。
+     * @param beanName Bean 名称
+     * @return 依赖的 Bean 名称集合（只读）
+     */
+    public Set<String> getDependencies(String beanName) {
+        Set<String> deps = dependencies.get(beanName);
+        return deps != null ? Collections.unmodifiableSet(deps) : Collections.emptySet();
+    }
+
+    /**
+     * 计算关键路径：从某个 Bean 出发，沿依赖边走到底，自身耗时之和最大的那条链。
+     * @return 关键路径上的 Bean 名称，从最外层的依赖方到最底层的被依赖方
+     */
+    public List<String> getCriticalPath() {
+        Map<String, Long> cost = new HashMap<>();
+        Map<String, String> next = new HashMap<>();
+        String start = null;
+        long best = -1L;
+        for (String beanName : getBeanNames()) {
+            long c = pathCost(beanName, cost, next, new HashSet<>());
+            if (c > best) {
+                best = c;
+                start = beanName;
+            }
+        }
+
+        List<String> path = new ArrayList<>();
+        for (String current = start; current != null && !path.contains(current); current = next.get(current)) {
+            path.add(current);
+        }
+        return path;
+    }
+
+    /**
+     * @return 关键路径上所有 Bean 自身耗时之和（纳秒）
+     */
+    public long getCriticalPathNanos() {
+        long total = 0L;
+        for (String beanName : getCriticalPath()) {
+            total += getSelfNanos(beanName);
+        }
+        return total;
+    }
+
+    /**
+     * 导出为 Graphviz DOT 格式。节点标注自身耗时，关键路径上的节点和边标红。
+     * @return DOT 文本
+     */
+    public String toDot() {
+        List<String> criticalPath = getCriticalPath();
+        Set<String> criticalEdges = new HashSet<>();
+        for (int i = 0; i + 1 < criticalPath.size(); i++) {
+            criticalEdges.add(criticalPath.get(i) + "->" + criticalPath.get(i + 1));
+        }
+
+        StringBuilder dot = new StringBuilder("digraph startup {\n");
+        for (String beanName : getBeanNames()) {
+            dot.append("  \"").append(beanName).append("\" [label=\"").append(beanName)
+                    .append("\\n").append(String.format("%.3f", getSelfNanos(beanName) / 1_000_000.0)).append(" ms\"");
+            if (criticalPath.contains(beanName)) {
+                dot.append(", color=red");
+            }
+            dot.append("];\n");
+        }
+        for (String beanName : getBeanNames()) {
+            for (String dependsOn : new TreeSet<>(getDependencies(beanName))) {
+                dot.append("  \"").append(beanName).append("\" -> \"").append(dependsOn).append('"');
+                if (criticalEdges.contains(beanName + "->" + dependsOn)) {
+                    dot.append(" [color=red]");
+                }
+                dot.append(";\n");
+            }
+        }
+        return dot.append("}\n").toString();
+    }
+
+    /**
+     * 导出为 JSON 格式，包含每个 Bean 的自身耗时、依赖以及关键路径。
+     * @return JSON 文本
+     */
+    public String toJson() {
+        List<Map<String, Object>> beans = new ArrayList<>();
+        for (String beanName : getBeanNames()) {
+            Map<String, Object> bean = new LinkedHashMap<>();
+            bean.put("name", beanName);
+            bean.put("selfNanos", getSelfNanos(beanName));
+            bean.put("dependencies", new TreeSet<>(getDependencies(beanName)));
+            beans.add(bean);
+        }
+        Map<String, Object> report = new LinkedHashMap<>();
+        report.put("beans", beans);
+        report.put("criticalPath", getCriticalPath());
+        report.put("criticalPathNanos", getCriticalPathNanos());
+        return JSONUtil.toJsonPrettyStr(report);
+    }
+
+    /**
+     * 清空已记录的数据
+     */
+    public void clear() {
+        selfNanos.clear();
+        dependencies.clear();
+    }
+
+    /**
+     * 图中所有节点（有耗时记录的 Bean 与出现在依赖边上的 Bean），按名称排序保证输出稳定。
+     */
+    private Set<String> getBeanNames() {
+        Set<String> names = new TreeSet<>(selfNanos.keySet());
+        for (Map.Entry<String, Set<String>> entry : dependencies.entrySet()) {
+            names.add(entry.getKey());
+            names.addAll(entry.getValue());
+        }
+        return names;
+    }
+
+    /**
+     * 带记忆的深度优先搜索：计算从 beanName 出发的最长（最耗时）依赖链。
+     * visiting 用于防御循环依赖导致的无限递归。
+     */
+    private long pathCost(String beanName, Map<String, Long> cost, Map<String, String> next, Set<String> visiting) {
+        Long cached = cost.get(beanName);
+        if (cached != null) {
+            return cached;
+        }
+        if (!visiting.add(beanName)) {
+            return 0L;
+        }
+        long bestChild = 0L;
+        String bestDependency = null;
+        for (String dependsOn : new TreeSet<>(getDependencies(beanName))) {
+            long c = pathCost(dependsOn, cost, next, visiting);
+            if (bestDependency == null || c > bestChild) {
+                bestChild = c;
+                bestDependency = dependsOn;
+            }
+        }
+        if (bestDependency != null) {
+            next.put(beanName, bestDependency);
+        }
+        visiting.remove(beanName);
+        long total = getSelfNanos(beanName) + bestChild;
+        cost.put(beanName, total);
+        return total;
+    }
+
+    /**
+     * 创建栈中的一帧
+     */
+    private static final class CreationFrame {
+
+        private final String beanName;
+
+        private final long startNanos;
+
+        /**
+         * 创建期间递归创建依赖 Bean 所花的总时间
+         */
+        private long childNanos;
+
+        private CreationFrame(String beanName, long startNanos) {
+            this.beanName = beanName;
+            this.startNanos = startNanos;
+        }
+    }
+}
@@ -0,0 +1,241 @@
+package com.lj.framwork.beans.factory.support;
+
+import com.lj.framwork.beans.factory.config.CachePolicy;
+
+import java.lang.ref.Reference;
+import java.lang.ref.ReferenceQueue;
+import java.lang.ref.SoftReference;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.LongSupplier;
+import java.util.function.Supplier;
+
+/**
+ * @ClassName CachedBeanRegistry
+ * @Description 缓存作用域 Bean 的注册表。
+ * 与单例池不同，这里的实例可以被淘汰：
+ * 1. 软引用持有的实例在堆内存紧张时由 GC 回收，回收后条目通过 ReferenceQueue 清理。
+ * 2. 超过存活时间或空闲时间的实例在访问时惰性判断过期，另外每隔一段时间顺带清扫一次全部条目，
+ *    长期没人访问的实例也会被释放。
+ * 被淘汰的 Bean 在下一次获取时重新创建；同一个 Bean 的并发重建在按名称的锁上串行，只会创建一次，
+ * 重建结束后锁随即移除，锁表不会随用过的 Bean 名称增长。
+ * 读路径不加锁：一次哈希查找加过期判断。
+ * 时间来源可以替换（默认为 System::nanoTime），便于测试过期逻辑。
+ * @Author Dark Chocolate 2069057986@qq.com
+ * @Date 2026/2/1 9:50
+ * @Version JDK 17
+ */
+public class CachedBeanRegistry {
+
+    /**
+     * 清扫过期条目的最小间隔
+     */
+    private static final long SWEEP_INTERVAL_NANOS = TimeUnit.SECONDS.toNanos(1);
+
+    private final Map<String, CacheEntry> entries = new ConcurrentHashMap<>();
+
+    /**
+     * Bean 名称 -> 创建锁，保证同一个 Bean 同时只有一个线程在重建。只在重建期间存在。
+     */
+    private final Map<String, Object> creationLocks = new ConcurrentHashMap<>();
+
+    /**
+     * 纳秒时间来源
+     */
+    private final LongSupplier nanoClock;
+
+    /**
+     * 被 GC 回收的软引用条目会进入这个队列
+     */
+    private final ReferenceQueue<Object> referenceQueue = new ReferenceQueue<>();
+
+    private volatile long nextSweepNanos;
+
+    private final AtomicLong creationCount = new AtomicLong();
+
+    private final AtomicLong evictionCount = new AtomicLong();
+
+    public CachedBeanRegistry() {
+        this(System::nanoTime);
+    }
+
+    /**
+     * @param nanoClock 纳秒时间来源，语义与 System.nanoTime 相同
+     */
+    public CachedBeanRegistry(LongSupplier nanoClock) {
+        this.nanoClock = nanoClock;
+        this.nextSweepNanos = nanoClock.getAsLong() + SWEEP_INTERVAL_NANOS;
+    }
+
+    /**
+     * 获取缓存的实例；不存在或已被淘汰时通过 beanFactory 重新创建。
+     * @param beanName    Bean 名称
+     * @param cachePolicy 淘汰策略
+     * @param beanFactory 创建实例的回调（通常是 createBean）
+     * @return Bean 实例
+     */
+    public Object getBean(String beanName, CachePolicy cachePolicy, Supplier<Object> beanFactory) {
+        long now = nanoClock.getAsLong();
+        expungeCollectedEntries();
+        if (now - nextSweepNanos >= 0L) {
+            evictExpired(now);
+        }
+
+        CacheEntry entry = entries.get(beanName);
+        Object bean = entry != null ? entry.getIfValid(now) : null;
+        if (bean != null) {
+            return bean;
+        }
+
+        while (true) {
+            Object lock = creationLocks.computeIfAbsent(beanName, k -> new Object());
+            synchronized (lock) {
+                // 等锁期间持有者已完成重建并移除了这把锁：换用当前登记的锁重试
+                if (creationLocks.get(beanName) != lock) {
+                    continue;
+                }
+                try {
+                    // 等锁期间其它线程可能已经重建完成
+                    entry = entries.get(beanName);
+                    bean = entry != null ? entry.getIfValid(nanoClock.getAsLong()) : null;
+                    if (bean != null) {
+                        return bean;
+                    }
+                    if (entry != null && entries.remove(beanName, entry)) {
+                        evictionCount.incrementAndGet();
+                    }
+                    bean = beanFactory.get();
+                    entries.put(beanName, new CacheEntry(beanName, bean, cachePolicy, nanoClock.getAsLong(), referenceQueue));
+                    creationCount.incrementAndGet();
+                    return bean;
+                } finally {
+                    creationLocks.remove(beanName, lock);
+                }
+            }
+        }
+    }
+
+    /**
+     * 主动淘汰指定 Bean，下一次获取时重新创建
+     * @param beanName Bean 名称
+     */
+    public void evict(String beanName) {
+        if (entries.remove(beanName) != null) {
+            evictionCount.incrementAndGet();
+        }
+    }
+
+    /**
+     * 清扫所有已过期或已被 GC 回收的条目。
+     * 获取 Bean 时会按固定间隔自动调用，也可以由外部定时任务调用。
+     */
+    public void evictExpired() {
+        expungeCollectedEntries();
+        evictExpired(nanoClock.getAsLong());
+    }
+
+    private void evictExpired(long now) {
+        nextSweepNanos = now + SWEEP_INTERVAL_NANOS;
+        for (Map.Entry<String, CacheEntry> entry : entries.entrySet()) {
+            if (entry.getValue().getIfValid(now, false) == null && entries.remove(entry.getKey(), entry.getValue())) {
+                evictionCount.incrementAndGet();
+            }
+        }
+    }
+
+    private void expungeCollectedEntries() {
+        Reference<?> reference;
+        while ((reference = referenceQueue.poll()) != null) {
+            CacheEntry entry = (CacheEntry) reference;
+            if (entries.remove(entry.beanName, entry)) {
+                evictionCount.incrementAndGet();
+            }
+        }
+    }
+
+    /**
+     * @return 当前缓存中的实例数（包含尚未清理的已淘汰条目）
+     */
+    public int getCachedBeanCount() {
+        return entries.size();
+    }
+
+    /**
+     * @return 当前正在重建的 Bean 数（即登记中的创建锁数量）
+     */
+    public int getPendingCreationCount() {
+        return creationLocks.size();
+    }
+
+    /**
+     * @return 累计创建（含重建）次数
+     */
+    public long getCreationCount() {
+        return creationCount.get();
+    }
+
+    /**
+     * @return 累计淘汰次数
+     */
+    public long getEvictionCount() {
+        return evictionCount.get();
+    }
+
+    /**
+     * 缓存条目。本身就是一个软引用：软引用模式下 strongValue 为 null，实例只被软引用持有；
+     * 否则 strongValue 强引用实例，软引用部分不起作用。
+     */
+    private static final class CacheEntry extends SoftReference<Object> {
+
+        private final String beanName;
+
+        private final Object strongValue;
+
+        private final long timeToLiveNanos;
+
+        private final long maxIdleNanos;
+
+        private final long createdNanos;
+
+        private volatile long lastAccessNanos;
+
+        private CacheEntry(String beanName, Object bean, CachePolicy cachePolicy, long now, ReferenceQueue<Object> queue) {
+            super(bean, queue);
+            this.beanName = beanName;
+            this.strongValue = cachePolicy.isSoftValues() ? null : bean;
+            this.timeToLiveNanos = cachePolicy.getTimeToLiveNanos();
+            this.maxIdleNanos = cachePolicy.getMaxIdleNanos();
+            this.createdNanos = now;
+            this.lastAccessNanos = now;
+        }
+
+        private Object getIfValid(long now) {
+            return getIfValid(now, true);
+        }
+
+        /**
+         * @param touch 是否记为一次访问（刷新空闲计时）
+         * @return 实例；已被回收或已过期时返回 null
+         */
+        private Object getIfValid(long now, boolean touch) {
+            Object bean = strongValue != null ? strongValue : get();
+            if (bean == null) {
+                return null;
+            }
+            if (timeToLiveNanos > 0L && now - createdNanos >= timeToLiveNanos) {
+                return null;
+            }
+            if (maxIdleNanos > 0L) {
+                if (now - lastAccessNanos >= maxIdleNanos) {
+                    return null;
+                }
+                if (touch) {
+                    lastAccessNanos = now;
+                }
+            }
+            return bean;
+        }
+    }
+}
@@ -1,61 +1,400 @@
 package com.lj.framwork.beans.factory.support;
 
+import com.lj.framwork.aop.Advisor;
+import com.lj.framwork.aop.framework.AdviceChainCallback;
 import com.lj.framwork.beans.BeansException;
+import com.lj.framwork.beans.factory.BeanFactory;
 import com.lj.framwork.beans.factory.config.BeanDefinition;
+import com.lj.framwork.beans.factory.config.LookupOverride;
+import net.sf.cglib.proxy.Callback;
+import net.sf.cglib.proxy.CallbackFilter;
 import net.sf.cglib.proxy.Enhancer;
+import net.sf.cglib.proxy.MethodInterceptor;
+import net.sf.cglib.proxy.MethodProxy;
 import net.sf.cglib.proxy.NoOp;
 
 import java.lang.reflect.Constructor;
+import java.lang.reflect.InvocationTargetException;
+import java.lang.reflect.Method;
+import java.lang.reflect.Modifier;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.concurrent.ConcurrentHashMap;
 
 /**
  * @ClassName CglibSubclassingInstantiationStrategy
  * @Description 基于 CGLIB 字节码生成的实例化策略。
- * 该策略不直接通过反射调用构造函数，而是利用 CGLIB 动态生成目标类的子类。
+ * 需要拦截方法时，利用 CGLIB 动态生成目标类的子类；没有任何方法需要拦截时直接反射调用构造函数，不生成子类。
  * 优势：
  * 1. 它是 Spring 默认的实例化策略（在某些版本中）。
  * 2. 能够更好地支持方法拦截和动态代理。
+ * 3. 支持查找方法注入（lookup-method）：通过 CallbackFilter 只拦截声明了 LookupOverride 的抽象方法，
+ *    每个查找方法占用一个独立的回调槽位；其余方法走 NoOp 槽位，生成的子类不会重写它们，调用开销与原始类完全一致。
+ * 4. 支持方法拦截（AOP）：生成子类时为每个方法计算一次拦截器链，
+ *    有通知的方法各占一个回调槽位（回调中保存该方法的链，末端用 MethodProxy.invokeSuper 调用原方法），
+ *    没有通知的方法同样走 NoOp 槽位，不付出任何拦截开销。
  * @Author Dark Chocolate 2069057986@qq.com
  * @Date 2026/1/16 10:53
  * @Version JDK 17
  */
 public class CglibSubclassingInstantiationStrategy implements InstantiationStrategy {
 
+    /**
+     * NoOp 回调所在的槽位，未被拦截的方法都映射到这里
+     */
+    private static final int PASSTHROUGH = 0;
+
+    private static final Advisor[] NO_ADVISORS = new Advisor[0];
+
+    /**
+     * 没有任何方法需要拦截时使用的反射实例化策略
+     */
+    private final SimpleInstantiationStrategy simpleStrategy = new SimpleInstantiationStrategy();
+
+    /**
+     * (Bean 类型, 查找方法, 通知器集合) -> 生成好的子类及其回调模板。
+     * 三者相同的定义共享同一个子类，重新注册同样的定义不会再生成新类。
+     * 缓存中不保存任何 Bean 工厂：查找方法的回调在创建实例时按所属工厂绑定，同一个策略可以被多个工厂共享。
+     */
+    private final Map<EnhancementKey, EnhancedSubclass> enhancedSubclassCache = new ConcurrentHashMap<>();
+
     /**
      * 利用 CGLIB 增强器创建 Bean 实例。
      *
      * @param beanDefinition Bean 定义信息
      * @param beanName       Bean 名称
+     * @param owner          所属的 Bean 工厂，查找方法通过它获取目标 Bean
      * @param ctor           具体的构造函数
      * @param args           构造函数入参
-     * @return 实例化后的 Bean 子类对象
+     * @return Bean 实例；需要拦截方法时为生成的子类对象
      * @throws BeansException 实例化失败异常
      */
     @Override
-    public Object instantiate(BeanDefinition beanDefinition, String beanName, Constructor ctor, Object[] args) throws BeansException {
-        // Enhancer 是 CGLIB 的核心类，用于动态生成子类
+    public Object instantiate(BeanDefinition beanDefinition, String beanName, BeanFactory owner, Constructor ctor, Object[] args) throws BeansException {
+        EnhancedSubclass enhanced = findEnhancedSubclass(beanDefinition, owner);
+        if (enhanced != null) {
+            return instantiateEnhancedSubclass(enhanced, beanDefinition, beanName, owner, ctor, args);
+        }
+
+        // 没有任何方法需要拦截：生成的子类与原始类等价，直接反射调用构造函数，不生成子类
+        return simpleStrategy.instantiate(beanDefinition, beanName, owner, ctor, args);
+    }
+
+    /**
+     * 判断按所属工厂当前的通知器和定义中的查找方法，该 Bean 是否需要生成子类。
+     * 编译期生成的实例化回调直接 new 原始类，需要子类时工厂不能使用它。
+     *
+     * @param beanDefinition Bean 定义信息
+     * @param owner          所属的 Bean 工厂
+     * @return 有方法需要拦截时返回 true
+     */
+    public boolean requiresSubclass(BeanDefinition beanDefinition, BeanFactory owner) {
+        return findEnhancedSubclass(beanDefinition, owner) != null;
+    }
+
+    /**
+     * @return 缓存的增强子类；没有任何方法需要拦截时返回 null
+     */
+    private EnhancedSubclass findEnhancedSubclass(BeanDefinition beanDefinition, BeanFactory owner) {
+        Advisor[] advisors = owner instanceof AbstractAutowireCapableBeanFactory
+                ? ((AbstractAutowireCapableBeanFactory) owner).getAdvisorArray()
+                : NO_ADVISORS;
+        if (!beanDefinition.hasMethodOverrides() && advisors.length == 0) {
+            return null;
+        }
+        EnhancementKey key = new EnhancementKey(beanDefinition.getBeanClass(), beanDefinition.getMethodOverrides().getOverrides(), advisors);
+        EnhancedSubclass enhanced = enhancedSubclassCache.computeIfAbsent(key, this::createEnhancedSubclass);
+        return enhanced.subclass != null ? enhanced : null;
+    }
+
+    /**
+     * 移除按指定通知器集合生成的增强子类缓存。工厂的通知器发生变化后，旧集合对应的子类不会再被使用。
+     * @param advisors 旧的通知器集合
+     */
+    public void removeEnhancedSubclasses(Advisor[] advisors) {
+        List<Advisor> stale = Arrays.asList(advisors);
+        enhancedSubclassCache.keySet().removeIf(key -> key.advisors.equals(stale));
+    }
+
+    /**
+     * 用缓存的增强子类创建实例。
+     * 查找方法的回调在这里绑定到所属工厂，其余回调直接复用模板。
+     * 实例化前通过 registerCallbacks 把回调绑定到当前线程，这样构造函数中调用被拦截的方法也能正常工作。
+     */
+    private Object instantiateEnhancedSubclass(EnhancedSubclass enhanced, BeanDefinition beanDefinition, String beanName,
+                                               BeanFactory owner, Constructor ctor, Object[] args) {
+        Class<?> subclass = enhanced.subclass;
+        Callback[] callbacks = enhanced.callbacks;
+        if (!enhanced.lookupBeanNames.isEmpty()) {
+            callbacks = callbacks.clone();
+            for (int i = 0; i < enhanced.lookupBeanNames.size(); i++) {
+                callbacks[i + 1] = new LookupOverrideMethodInterceptor(owner, enhanced.lookupBeanNames.get(i));
+            }
+        }
+        Enhancer.registerCallbacks(subclass, callbacks);
+        try {
+            if (null == ctor) {
+                return subclass.getDeclaredConstructor().newInstance();
+            }
+            return subclass.getDeclaredConstructor(ctor.getParameterTypes()).newInstance(args);
+        } catch (NoSuchMethodException | InstantiationException | IllegalAccessException | InvocationTargetException e) {
+            throw new BeansException("Failed to instantiate enhanced subclass of [" + beanDefinition.getBeanClass().getName() + "], bean: " + beanName, e);
+        } finally {
+            Enhancer.registerCallbacks(subclass, null);
+        }
+    }
+
+    /**
+     * 生成子类并分配回调槽位：
+     * 槽位 0 为 NoOp；每个查找方法各占一个槽位（模板中为 null，创建实例时按工厂填入）；
+     * 每个有通知的方法各占一个槽位，回调中保存该方法的拦截器链。
+     * 既没有查找方法也没有被通知的方法时不生成子类（subclass 为 null）。
+     * @throws BeansException 查找方法在类中不存在或不是抽象方法时抛出
+     */
+    private EnhancedSubclass createEnhancedSubclass(EnhancementKey key) throws BeansException {
+        Class<?> beanClass = key.beanClass;
+        Map<String, Method> overridableMethods = collectOverridableMethods(beanClass);
+        List<Callback> callbacks = new ArrayList<>();
+        callbacks.add(NoOp.INSTANCE);
+
+        List<String> lookupBeanNames = new ArrayList<>();
+        for (LookupOverride override : key.overrides) {
+            if (overridableMethods.values().stream().noneMatch(override::matches)) {
+                throw new BeansException("Lookup method '" + override.getMethodName() + "' must be an abstract, no-arg, non-void method of ["
+                        + beanClass.getName() + "]");
+            }
+            lookupBeanNames.add(override.getBeanName());
+            callbacks.add(null);
+        }
+
+        Map<String, Integer> adviceSlots = new HashMap<>();
+        if (!key.advisors.isEmpty()) {
+            Advisor[] advisors = key.advisors.toArray(new Advisor[0]);
+            for (Map.Entry<String, Method> entry : overridableMethods.entrySet()) {
+                if (Modifier.isAbstract(entry.getValue().getModifiers())) {
+                    continue;
+                }
+                AdviceChainCallback callback = AdviceChainCallback.forMethod(advisors, entry.getValue(), beanClass);
+                if (callback != null) {
+                    adviceSlots.put(entry.getKey(), callbacks.size());
+                    callbacks.add(callback);
+                }
+            }
+        }
+
+        if (callbacks.size() == 1) {
+            return new EnhancedSubclass(null, null, lookupBeanNames);
+        }
+
+        Class<?>[] callbackTypes = new Class<?>[callbacks.size()];
+        callbackTypes[PASSTHROUGH] = NoOp.class;
+        Arrays.fill(callbackTypes, 1, callbackTypes.length, MethodInterceptor.class);
+
         Enhancer enhancer = new Enhancer();
+        enhancer.setSuperclass(beanClass);
+        enhancer.setCallbackFilter(new SlotCallbackFilter(key.overrides, adviceSlots));
+        enhancer.setCallbackTypes(callbackTypes);
+        // 回调按实例注册，不能使用 CGLIB 跨定义共享的类缓存
+        enhancer.setUseCache(false);
+        return new EnhancedSubclass(enhancer.createClass(), callbacks.toArray(new Callback[0]), lookupBeanNames);
+    }
 
-        // 设置需要动态生成的子类的父类（即我们要实例化的那个 Bean 类）
-        enhancer.setSuperclass(beanDefinition.getBeanClass());
+    /**
+     * 收集子类可以重写的方法（非 private/static/final），按方法签名去重，子类中的声明优先。
+     */
+    private static Map<String, Method> collectOverridableMethods(Class<?> beanClass) {
+        Map<String, Method> methods = new LinkedHashMap<>();
+        for (Class<?> clazz = beanClass; clazz != null; clazz = clazz.getSuperclass()) {
+            for (Method method : clazz.getDeclaredMethods()) {
+                int modifiers = method.getModifiers();
+                if (method.isBridge() || Modifier.isPrivate(modifiers) || Modifier.isStatic(modifiers) || Modifier.isFinal(modifiers)) {
+                    continue;
+                }
+                methods.putIfAbsent(signatureOf(method), method);
+            }
+        }
+        // 接口中的 default 方法
+        for (Method method : beanClass.getMethods()) {
+            if (method.isDefault()) {
+                methods.putIfAbsent(signatureOf(method), method);
+            }
+        }
+        return methods;
+    }
 
-        // 设置回调函数。
-        // 因为这里我们只需要实例化，不需要做复杂的逻辑拦截，
-        // 所以使用 NoOp.INSTANCE（No Operation），即不进行任何增强处理。
-        enhancer.setCallback(new NoOp() {
-            @Override
-            public int hashCode() {
-                return super.hashCode();
+    private static String signatureOf(Method method) {
+        return method.getName() + Arrays.toString(method.getParameterTypes());
+    }
+
+    /**
+     * 按方法选择回调槽位：查找方法与有通知的方法映射到各自的槽位，其余方法映射到 NoOp。
+     * 只在生成子类时对每个方法调用一次。
+     */
+    private static final class SlotCallbackFilter implements CallbackFilter {
+
+        private final List<LookupOverride> overrides;
+
+        /**
+         * 方法签名 -> 通知回调所在的槽位
+         */
+        private final Map<String, Integer> adviceSlots;
+
+        private SlotCallbackFilter(List<LookupOverride> overrides, Map<String, Integer> adviceSlots) {
+            this.overrides = overrides;
+            this.adviceSlots = adviceSlots;
+        }
+
+        @Override
+        public int accept(Method method) {
+            for (int i = 0; i < overrides.size(); i++) {
+                if (overrides.get(i).matches(method)) {
+                    return i + 1;
+                }
             }
-        });
+            return adviceSlots.getOrDefault(signatureOf(method), PASSTHROUGH);
+        }
+    }
+
+    /**
+     * 查找方法拦截器：每个实例只服务一个查找方法。
+     * 创建 Bean 实例时就解析好目标 Bean 的定义：原型目标直接走 createBean，不做任何名称查找；
+     * 其余作用域走 getBean。所属工厂的 Bean 定义版本号变化（任何定义被重新注册）后才重新解析，
+     * 因此目标改为单例等变化立即生效，而平时每次调用只多一次 volatile 读。
+     * 创建实例时目标定义尚未注册的，推迟到第一次调用时解析。
+     */
+    private static final class LookupOverrideMethodInterceptor implements MethodInterceptor {
+
+        private static final LookupTarget UNRESOLVED = new LookupTarget(-1L, null);
+
+        private final BeanFactory owner;
 
-        // 根据是否有指定构造函数，选择不同的创建方式
-        if (null == ctor) {
-            // 调用默认的无参构造逻辑
-            return enhancer.create();
+        private final String beanName;
+
+        private volatile LookupTarget target = UNRESOLVED;
+
+        private LookupOverrideMethodInterceptor(BeanFactory owner, String beanName) {
+            this.owner = owner;
+            this.beanName = beanName;
+            if (owner instanceof AbstractBeanFactory && ((AbstractBeanFactory) owner).containsBeanDefinition(beanName)) {
+                this.target = resolve((AbstractBeanFactory) owner);
+            }
+        }
+
+        @Override
+        public Object intercept(Object obj, Method method, Object[] args, MethodProxy proxy) {
+            if (!(owner instanceof AbstractBeanFactory)) {
+                return owner.getBean(beanName);
+            }
+            AbstractBeanFactory factory = (AbstractBeanFactory) owner;
+            LookupTarget current = target;
+            if (current.version != factory.getBeanDefinitionVersion()) {
+                current = resolve(factory);
+                target = current;
+            }
+            if (current.prototypeDefinition != null) {
+                return factory.createBean(beanName, current.prototypeDefinition);
+            }
+            return factory.getBean(beanName);
+        }
+
+        /**
+         * 先读版本号再读定义：并发注册时最多多解析一次，不会把新版本号配上旧定义
+         */
+        private LookupTarget resolve(AbstractBeanFactory factory) {
+            long version = factory.getBeanDefinitionVersion();
+            BeanDefinition definition = factory.getBeanDefinition(beanName);
+            return new LookupTarget(version, definition.isPrototype() ? definition : null);
         }
+    }
+
+    /**
+     * 查找方法解析好的目标
+     */
+    private static final class LookupTarget {
 
-        // 调用指定的含参构造逻辑
-        // 参数 1：构造函数的参数类型数组；参数 2：具体的参数值数组
-        return enhancer.create(ctor.getParameterTypes(), args);
+        /**
+         * 解析时所属工厂的 Bean 定义版本号
+         */
+        private final long version;
+
+        /**
+         * 目标是原型时为它的定义，否则为 null（走 getBean）
+         */
+        private final BeanDefinition prototypeDefinition;
+
+        private LookupTarget(long version, BeanDefinition prototypeDefinition) {
+            this.version = version;
+            this.prototypeDefinition = prototypeDefinition;
+        }
+    }
+
+    /**
+     * 增强子类的缓存键：Bean 类型、查找方法定义与通知器集合（按内容比较）
+     */
+    private static final class EnhancementKey {
+
+        private final Class<?> beanClass;
+
+        private final List<LookupOverride> overrides;
+
+        private final List<Advisor> advisors;
+
+        private final int hashCode;
+
+        private EnhancementKey(Class<?> beanClass, List<LookupOverride> overrides, Advisor[] advisors) {
+            this.beanClass = beanClass;
+            this.overrides = List.copyOf(overrides);
+            this.advisors = List.of(advisors);
+            this.hashCode = Objects.hash(beanClass, this.overrides, this.advisors);
+        }
+
+        @Override
+        public boolean equals(Object o) {
+            if (this == o) {
+                return true;
+            }
+            if (!(o instanceof EnhancementKey)) {
+                return false;
+            }
+            EnhancementKey that = (EnhancementKey) o;
+            return beanClass == that.beanClass && overrides.equals(that.overrides) && advisors.equals(that.advisors);
+        }
+
+        @Override
+        public int hashCode() {
+            return hashCode;
+        }
+    }
+
+    /**
+     * 生成好的子类及其回调模板
+     */
+    private static final class EnhancedSubclass {
+
+        /**
+         * 生成的子类；不需要增强时为 null
+         */
+        private final Class<?> subclass;
+
+        /**
+         * 回调模板：通知回调与工厂无关，可以共享；查找方法的槽位（1 ~ n）为 null
+         */
+        private final Callback[] callbacks;
+
+        /**
+         * 各查找方法槽位对应的目标 Bean 名称
+         */
+        private final List<String> lookupBeanNames;
+
+        private EnhancedSubclass(Class<?> subclass, Callback[] callbacks, List<String> lookupBeanNames) {
+            this.subclass = subclass;
+            this.callbacks = callbacks;
+            this.lookupBeanNames = lookupBeanNames;
+        }
     }
 }
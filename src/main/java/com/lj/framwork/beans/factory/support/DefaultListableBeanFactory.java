@@ -1,9 +1,24 @@
 package com.lj.framwork.beans.factory.support;
 
 import com.lj.framwork.beans.BeansException;
+import com.lj.framwork.beans.factory.PropertyValue;
+import com.lj.framwork.beans.factory.annotation.InjectionMetadata;
 import com.lj.framwork.beans.factory.config.BeanDefinition;
+import com.lj.framwork.beans.factory.config.BeanDefinitionCustomizer;
+import com.lj.framwork.beans.factory.config.BeanReference;
+import com.lj.framwork.context.ApplicationListener;
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.Deque;
+import java.util.LinkedHashSet;
+import java.util.List;
 import java.util.Map;
+import java.util.Set;
+import java.util.TreeMap;
 import java.util.concurrent.ConcurrentHashMap;
+import java.util.function.Supplier;
 
 /**
  * @ClassName DefaultListableBeanFactory
@@ -24,14 +39,71 @@ public class DefaultListableBeanFactory extends AbstractAutowireCapableBeanFacto
      */
     private Map<String, BeanDefinition> beanDefinitionMap = new ConcurrentHashMap<>();
 
+    /**
+     * 类型 -> 匹配的 Bean 名称。按类型注入时使用，注册新的 Bean 定义后整体失效。
+     */
+    private final Map<Class<?>, String[]> beanNamesByTypeCache = new ConcurrentHashMap<>();
+
+    /**
+     * 预实例化的根 Bean 名称。为空时预实例化全部单例；
+     * 否则只预实例化从这些根出发沿依赖可达的单例，其余单例延迟到第一次 getBean 时创建。
+     */
+    private volatile String[] rootBeanNames = new String[0];
+
     /**
      * 向注册表中注册一个 Bean 定义。
+     * 如果该名称已经注册过且单例已经创建，则触发增量刷新：
+     * 只重建该 Bean 以及依赖它的 Bean，其余单例保持不变。
+     * 缓存作用域与按参数记忆作用域的 Bean 则直接丢弃已缓存的实例。
+     * 增量刷新失败时恢复旧定义并抛出异常，旧单例保持不变，容器不会停留在“新定义 + 旧实例”的状态。
      * @param beanName Bean 的唯一标识名称
      * @param beanDefinition Bean 的定义信息（图纸）
+     * @throws BeansException 按新定义重建受影响的单例失败时抛出
      */
     @Override
-    public void registerBeanDefinition(String beanName, BeanDefinition beanDefinition) {
-        beanDefinitionMap.put(beanName, beanDefinition);
+    public void registerBeanDefinition(String beanName, BeanDefinition beanDefinition) throws BeansException {
+        BeanDefinition existingDefinition = beanDefinitionMap.put(beanName, beanDefinition);
+        beanNamesByTypeCache.clear();
+        beanDefinitionChanged();
+        // 缓存作用域、按参数记忆作用域的旧实例按旧定义创建，直接丢弃，下次获取时按新定义重建
+        getCachedBeanRegistry().evict(beanName);
+        removeArgumentKeyedBeanCache(beanName);
+        if (existingDefinition != null && containsSingleton(beanName)) {
+            try {
+                refreshSingleton(beanName);
+            } catch (RuntimeException e) {
+                // 只在期间没有其他线程再次注册同名定义时才回滚
+                if (beanDefinitionMap.replace(beanName, beanDefinition, existingDefinition)) {
+                    beanNamesByTypeCache.clear();
+                    beanDefinitionChanged();
+                    removeArgumentKeyedBeanCache(beanName);
+                }
+                throw e;
+            }
+        }
+    }
+
+    /**
+     * 函数式注册：由 Supplier 直接提供 Bean 实例。
+     * 创建时只是一次普通的 lambda 调用，不经过构造函数反射查找和 CGLIB 子类生成；
+     * 属性填充仍按 BeanDefinition 中的 PropertyValues 进行（可通过 customizers 追加）。
+     * @param beanName Bean 的唯一标识名称
+     * @param beanClass Bean 的类型
+     * @param supplier 创建实例的回调
+     * @param customizers 注册前对 BeanDefinition 的定制回调（可选）
+     * @param <T> Bean 类型
+     */
+    public <T> void registerBean(String beanName, Class<T> beanClass, Supplier<T> supplier, BeanDefinitionCustomizer... customizers) {
+        BeanDefinition beanDefinition = new BeanDefinition(beanClass, supplier);
+        for (BeanDefinitionCustomizer customizer : customizers) {
+            customizer.customize(beanDefinition);
+        }
+        registerBeanDefinition(beanName, beanDefinition);
+    }
+
+    @Override
+    public boolean containsBeanDefinition(String beanName) {
+        return beanDefinitionMap.containsKey(beanName);
     }
 
     /**
@@ -51,4 +123,157 @@ public class DefaultListableBeanFactory extends AbstractAutowireCapableBeanFacto
         return beanDefinition;
     }
 
+    /**
+     * 获取类型匹配的所有 Bean 名称。结果按类型缓存，注册新的 Bean 定义后失效。
+     * @param type 类型（可以是接口或父类）
+     * @return 匹配的 Bean 名称
+     */
+    @Override
+    public String[] getBeanNamesForType(Class<?> type) {
+        String[] beanNames = beanNamesByTypeCache.get(type);
+        if (beanNames == null) {
+            List<String> matches = new ArrayList<>();
+            for (Map.Entry<String, BeanDefinition> entry : beanDefinitionMap.entrySet()) {
+                if (type.isAssignableFrom(entry.getValue().getBeanClass())) {
+                    matches.add(entry.getKey());
+                }
+            }
+            beanNames = matches.toArray(new String[0]);
+            beanNamesByTypeCache.put(type, beanNames);
+        }
+        return beanNames;
+    }
+
+    /**
+     * 声明预实例化的根 Bean（通常是少数几个入口 Bean）。
+     * @param rootBeanNames 根 Bean 名称，不传表示关闭剪枝
+     */
+    public void setRootBeanNames(String... rootBeanNames) {
+        this.rootBeanNames = rootBeanNames.clone();
+    }
+
+    public String[] getRootBeanNames() {
+        return rootBeanNames.clone();
+    }
+
+    /**
+     * 预实例化单例。
+     * 声明了根 Bean 时，只创建从根出发可达的单例（见 {@link #getReachableBeanNames()}），
+     * 不可达的单例被跳过，但 Bean 定义保留，第一次 getBean 时照常创建。
+     * 非单例作用域（原型、缓存、按参数记忆）的 Bean 从不预实例化，只是在图中传递可达性。
+     * 事件监听器单例只有创建后才会注册到事件广播器，没有任何 Bean 引用它们，因此作为隐式根（见 {@link #getImplicitRootBeanNames()}）。
+     * @return 预实例化报告：创建了哪些单例，跳过了哪些单例以及它们实例本身的浅层大小
+     * @throws BeansException 根 Bean 未定义或创建失败时抛出
+     */
+    public PreInstantiationReport preInstantiateSingletons() throws BeansException {
+        long start = System.nanoTime();
+        String[] roots = rootBeanNames;
+        List<String> implicitRoots = roots.length == 0 ? List.of() : getImplicitRootBeanNames();
+        Set<String> reachable = roots.length == 0 ? new LinkedHashSet<>(beanDefinitionMap.keySet()) : getReachableBeanNames();
+
+        List<String> instantiated = new ArrayList<>();
+        for (String beanName : reachable) {
+            if (getBeanDefinition(beanName).isSingleton()) {
+                getBean(beanName);
+                instantiated.add(beanName);
+            }
+        }
+
+        Map<String, Long> pruned = new TreeMap<>();
+        for (Map.Entry<String, BeanDefinition> entry : beanDefinitionMap.entrySet()) {
+            String beanName = entry.getKey();
+            BeanDefinition beanDefinition = entry.getValue();
+            if (beanDefinition.isSingleton() && !reachable.contains(beanName) && !containsSingleton(beanName)) {
+                pruned.put(beanName, PreInstantiationReport.estimateShallowSize(beanDefinition.getBeanClass()));
+            }
+        }
+        return new PreInstantiationReport(Arrays.asList(roots), implicitRoots, instantiated, pruned, System.nanoTime() - start);
+    }
+
+    /**
+     * 不需要声明就作为根的 Bean：实现了 {@link ApplicationListener} 的单例。
+     * 监听器通常不被任何 Bean 引用，如果被剪枝就永远不会创建，也就悄悄收不到事件。
+     * @return 隐式根 Bean 名称
+     */
+    public List<String> getImplicitRootBeanNames() {
+        List<String> implicitRoots = new ArrayList<>();
+        for (Map.Entry<String, BeanDefinition> entry : beanDefinitionMap.entrySet()) {
+            BeanDefinition beanDefinition = entry.getValue();
+            if (beanDefinition.isSingleton() && beanDefinition.getBeanClass() != null
+                    && ApplicationListener.class.isAssignableFrom(beanDefinition.getBeanClass())) {
+                implicitRoots.add(entry.getKey());
+            }
+        }
+        return implicitRoots;
+    }
+
+    /**
+     * 计算从根 Bean 与隐式根（事件监听器）出发可达的 Bean 名称（广度优先，结果按发现顺序排列，包含根本身）。
+     * 依赖边与创建时的解析规则一致，来自：
+     * 1. PropertyValues 中的 BeanReference。
+     * 2. BeanDefinition 的 dependsOn（编译期生成的注册器使用）。
+     * 3. @Autowired 字段与 setter：名称匹配的候选优先，否则按类型匹配的全部候选（不含自身）。
+     *    使用实例化回调的定义不会再做注解注入，因此只看 dependsOn。
+     * 引用了未定义的 Bean 时不在此报错，留给真正创建时报告。
+     * @return 可达的 Bean 名称
+     * @throws BeansException 根 Bean 未定义时抛出
+     */
+    public Set<String> getReachableBeanNames() throws BeansException {
+        Set<String> reachable = new LinkedHashSet<>();
+        Deque<String> queue = new ArrayDeque<>();
+        for (String root : rootBeanNames) {
+            getBeanDefinition(root);
+            if (reachable.add(root)) {
+                queue.add(root);
+            }
+        }
+        for (String implicitRoot : getImplicitRootBeanNames()) {
+            if (reachable.add(implicitRoot)) {
+                queue.add(implicitRoot);
+            }
+        }
+        while (!queue.isEmpty()) {
+            String beanName = queue.poll();
+            for (String dependency : getDeclaredDependencies(beanName, beanDefinitionMap.get(beanName))) {
+                if (beanDefinitionMap.containsKey(dependency) && reachable.add(dependency)) {
+                    queue.add(dependency);
+                }
+            }
+        }
+        return reachable;
+    }
+
+    /**
+     * 从 Bean 定义中静态读出的依赖 Bean 名称（不创建任何 Bean）
+     */
+    private Set<String> getDeclaredDependencies(String beanName, BeanDefinition beanDefinition) {
+        Set<String> dependencies = new LinkedHashSet<>();
+        for (PropertyValue propertyValue : beanDefinition.getPropertyValues().getPropertyValues()) {
+            if (propertyValue.getValue() instanceof BeanReference) {
+                dependencies.add(((BeanReference) propertyValue.getValue()).getBeanName());
+            }
+        }
+        Collections.addAll(dependencies, beanDefinition.getDependsOn());
+        if (beanDefinition.getInstantiator() == null) {
+            for (InjectionMetadata.InjectedElement element : getInjectionMetadata(beanDefinition.getBeanClass()).getInjectedElements()) {
+                dependencies.addAll(getAutowireCandidates(beanName, element));
+            }
+        }
+        return dependencies;
+    }
+
+    private List<String> getAutowireCandidates(String beanName, InjectionMetadata.InjectedElement element) {
+        List<String> candidates = new ArrayList<>();
+        for (String candidateName : getBeanNamesForType(element.getDependencyType())) {
+            if (candidateName.equals(beanName)) {
+                continue;
+            }
+            if (candidateName.equals(element.getDependencyName())) {
+                return List.of(candidateName);
+            }
+            candidates.add(candidateName);
+        }
+        return candidates;
+    }
+
 }
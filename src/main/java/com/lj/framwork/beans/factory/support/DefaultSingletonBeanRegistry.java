@@ -1,14 +1,19 @@
 package com.lj.framwork.beans.factory.support;
 
 import com.lj.framwork.beans.factory.config.SingletonBeanRegistry;
+import java.util.Collections;
 import java.util.HashMap;
+import java.util.LinkedHashSet;
 import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
 
 /**
  * @ClassName DefaultSingletonBeanRegistry
  * @Description 默认的单例 Bean 注册表实现类
  * 该类主要负责管理和存储在整个系统生命周期中只存在一份的 Bean 实例（单例）。
  * 它实现了 SingletonBeanRegistry 接口，提供了对单例对象的存取能力。
+ * 同时记录单例之间的依赖关系（谁依赖了谁），供增量刷新时找出受影响的子图。
  * * @Author Dark Chocolate 2069057986@qq.com
  * @Date 2026/1/16 9:14
  * @Version JDK 17
@@ -19,10 +24,26 @@ public class DefaultSingletonBeanRegistry implements SingletonBeanRegistry {
      * 单例对象的缓存池（一级缓存）。
      * Key: Bean 的名称
      * Value: 已经实例化并初始化好的完整 Bean 对象
-     * 这里为什么使用HashMap呢？
-     * 单例模式实例的创建比较复杂，不是单一的ConcurrentHashMap能解决的，并且后续三级缓存的实现，使用ConcurrentHashMap更加容易死锁！
+     * 读操作不加锁，直接读 ConcurrentHashMap；所有写操作都在 singletonLock 上串行执行，
+     * 不使用 computeIfAbsent 之类会在创建过程中持有桶锁的方法，避免递归创建时死锁。
+     * 增量刷新时只覆盖受影响的条目，被依赖的新实例先于依赖它的新实例发布（见 {@link #replaceSingletons}）。
      */
-    private final Map<String, Object> singletonObjects = new HashMap<>();
+    private final Map<String, Object> singletonObjects = new ConcurrentHashMap<>();
+
+    /**
+     * 单例缓存的写锁
+     */
+    private final Object singletonLock = new Object();
+
+    /**
+     * Bean 名称 -> 依赖它的 Bean 名称集合
+     */
+    private final Map<String, Set<String>> dependentBeanMap = new HashMap<>();
+
+    /**
+     * Bean 名称 -> 它所依赖的 Bean 名称集合
+     */
+    private final Map<String, Set<String>> dependenciesForBeanMap = new HashMap<>();
 
     /**
      * 获取指定名称的单例对象。
@@ -34,6 +55,15 @@ public class DefaultSingletonBeanRegistry implements SingletonBeanRegistry {
         return singletonObjects.get(beanName);
     }
 
+    /**
+     * 判断是否已经存在指定名称的单例对象。
+     * @param beanName Bean 名称
+     * @return 存在则返回 true
+     */
+    public boolean containsSingleton(String beanName) {
+        return singletonObjects.containsKey(beanName);
+    }
+
     /**
      * 将创建好的单例对象注册到缓存池中。
      * 该方法通常由具体的 BeanFactory 实现类在成功创建并初始化 Bean 后调用。
@@ -41,6 +71,99 @@ public class DefaultSingletonBeanRegistry implements SingletonBeanRegistry {
      * @param singletonObject 完整的单例实例
      */
     protected void addSingleton(String beanName, Object singletonObject) {
-        singletonObjects.put(beanName, singletonObject);
+        synchronized (this.singletonLock) {
+            singletonObjects.put(beanName, singletonObject);
+        }
+    }
+
+    /**
+     * 从缓存池中移除单例（依赖记录保持不变）。
+     * @param beanName Bean 名称
+     * @return 被移除的单例，不存在时为 null
+     */
+    protected Object removeSingleton(String beanName) {
+        synchronized (this.singletonLock) {
+            return singletonObjects.remove(beanName);
+        }
+    }
+
+    /**
+     * 替换一批单例及其依赖关系。
+     * 只覆盖这批 Bean 的条目，代价与受影响的子图大小成正比，不复制整个单例池。
+     * 按 singletons 的迭代顺序逐个发布，调用方需保证被依赖的 Bean 排在依赖它的 Bean 之前：
+     * 并发的 getBean 拿到的每个新实例都已完整构建，并且它依赖的新实例已经可见；
+     * 每个实例内部注入的依赖始终属于同一次构建，不会混入旧实例。
+     * @param singletons   Bean 名称 -> 新的单例实例，按依赖顺序排列
+     * @param dependencies Bean 名称 -> 新实例所依赖的 Bean 名称（替换这些 Bean 原有的依赖记录）
+     */
+    protected void replaceSingletons(Map<String, Object> singletons, Map<String, Set<String>> dependencies) {
+        synchronized (this.singletonLock) {
+            synchronized (this.dependentBeanMap) {
+                for (String beanName : singletons.keySet()) {
+                    removeDependenciesForBean(beanName);
+                }
+                for (Map.Entry<String, Set<String>> entry : dependencies.entrySet()) {
+                    for (String dependency : entry.getValue()) {
+                        registerDependentBean(dependency, entry.getKey());
+                    }
+                }
+            }
+
+            singletonObjects.putAll(singletons);
+        }
+    }
+
+    /**
+     * 清除指定 Bean 作为依赖方的全部记录（它依赖了谁），“谁依赖它”的记录保持不变。
+     * @param beanName Bean 名称
+     */
+    protected void removeDependenciesForBean(String beanName) {
+        synchronized (this.dependentBeanMap) {
+            Set<String> oldDependencies = dependenciesForBeanMap.remove(beanName);
+            if (oldDependencies != null) {
+                for (String dependency : oldDependencies) {
+                    Set<String> dependents = dependentBeanMap.get(dependency);
+                    if (dependents != null) {
+                        dependents.remove(beanName);
+                    }
+                }
+            }
+        }
+    }
+
+    /**
+     * 记录依赖关系：dependentBeanName 依赖 beanName。
+     * @param beanName          被依赖的 Bean 名称
+     * @param dependentBeanName 依赖方 Bean 名称
+     */
+    public void registerDependentBean(String beanName, String dependentBeanName) {
+        synchronized (this.dependentBeanMap) {
+            dependentBeanMap.computeIfAbsent(beanName, k -> new LinkedHashSet<>()).add(dependentBeanName);
+            dependenciesForBeanMap.computeIfAbsent(dependentBeanName, k -> new LinkedHashSet<>()).add(beanName);
+        }
+    }
+
+    /**
+     * 获取直接依赖指定 Bean 的所有 Bean 名称。
+     * @param beanName Bean 名称
+     * @return 依赖方名称集合的快照
+     */
+    public Set<String> getDependentBeans(String beanName) {
+        synchronized (this.dependentBeanMap) {
+            Set<String> dependents = dependentBeanMap.get(beanName);
+            return dependents != null ? new LinkedHashSet<>(dependents) : Collections.emptySet();
+        }
+    }
+
+    /**
+     * 获取指定 Bean 直接依赖的所有 Bean 名称。
+     * @param beanName Bean 名称
+     * @return 被依赖方名称集合的快照
+     */
+    public Set<String> getDependenciesForBean(String beanName) {
+        synchronized (this.dependentBeanMap) {
+            Set<String> dependencies = dependenciesForBeanMap.get(beanName);
+            return dependencies != null ? new LinkedHashSet<>(dependencies) : Collections.emptySet();
+        }
     }
 }
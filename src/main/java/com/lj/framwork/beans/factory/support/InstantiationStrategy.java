@@ -1,6 +1,7 @@
 package com.lj.framwork.beans.factory.support;
 
 import com.lj.framwork.beans.BeansException;
+import com.lj.framwork.beans.factory.BeanFactory;
 import com.lj.framwork.beans.factory.config.BeanDefinition;
 
 import java.lang.reflect.Constructor;
@@ -25,12 +26,13 @@ public interface InstantiationStrategy {
      *
      * @param beanDefinition Bean 的定义信息，包含 beanClass 等重要元数据
      * @param beanName       Bean 的名称，用于在发生异常时提供错误上下文
+     * @param owner          创建该 Bean 的工厂，方法注入（lookup-method）需要通过它获取目标 Bean
      * @param ctor           指定的构造函数。如果该参数不为空，则应使用该构造函数进行实例化；
      * 如果为空，则尝试寻找默认的无参构造函数。
      * @param args           传递给构造函数的参数数组。
      * @return 实例化后的 Bean 对象（通常还是个空壳，尚未填充属性）
      * @throws BeansException 如果实例化过程中发生任何错误（如找不到匹配的构造函数、访问受限等）
      */
-    Object instantiate(BeanDefinition beanDefinition, String beanName, Constructor ctor, Object[] args) throws BeansException;
+    Object instantiate(BeanDefinition beanDefinition, String beanName, BeanFactory owner, Constructor ctor, Object[] args) throws BeansException;
 
 }
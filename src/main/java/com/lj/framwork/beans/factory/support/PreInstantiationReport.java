@@ -0,0 +1,148 @@
+package com.lj.framwork.beans.factory.support;
+
+import java.lang.reflect.Field;
+import java.lang.reflect.Modifier;
+import java.util.Collections;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * @ClassName PreInstantiationReport
+ * @Description 单例预实例化报告。
+ * 由 {@link DefaultListableBeanFactory#preInstantiateSingletons()} 返回，记录：
+ * 1. 从根 Bean（包括作为隐式根的事件监听器）出发可达、因而被提前创建的单例。
+ * 2. 不可达、因而被跳过（剪枝）的单例，以及每个被跳过的 Bean 实例本身的浅层大小。
+ * 被跳过的 Bean 定义仍保留在容器中，第一次 getBean 时按需创建。
+ * 浅层大小只是对象头加字段（按 64 位 JVM、开启压缩指针计算，按 8 字节对齐），
+ * 不包含字段所引用的数组、集合等对象，因此不是剪枝节省的内存：持有大数组的查找表这类 Bean，
+ * 浅层大小只有十几个字节，实际占用可能大几个数量级。它只适合比较被跳过的 Bean 的个数与形状。
+ * @Author Dark Chocolate 2069057986@qq.com
+ * @Date 2026/2/4 9:40
+ * @Version JDK 17
+ */
+public class PreInstantiationReport {
+
+    private static final int OBJECT_HEADER_BYTES = 12;
+
+    private static final int REFERENCE_BYTES = 4;
+
+    private static final int OBJECT_ALIGNMENT = 8;
+
+    private final List<String> rootBeanNames;
+
+    private final List<String> implicitRootBeanNames;
+
+    private final List<String> instantiatedBeanNames;
+
+    /**
+     * 被跳过的单例名称 -> 实例的浅层字节数
+     */
+    private final Map<String, Long> prunedBeans;
+
+    private final long elapsedNanos;
+
+    PreInstantiationReport(List<String> rootBeanNames, List<String> implicitRootBeanNames, List<String> instantiatedBeanNames,
+                           Map<String, Long> prunedBeans, long elapsedNanos) {
+        this.rootBeanNames = Collections.unmodifiableList(rootBeanNames);
+        this.implicitRootBeanNames = Collections.unmodifiableList(implicitRootBeanNames);
+        this.instantiatedBeanNames = Collections.unmodifiableList(instantiatedBeanNames);
+        this.prunedBeans = Collections.unmodifiableMap(new LinkedHashMap<>(prunedBeans));
+        this.elapsedNanos = elapsedNanos;
+    }
+
+    /**
+     * 估算一个类实例的浅层大小（字节）：对象头 + 整个继承体系的实例字段，按 8 字节对齐。
+     * @param beanClass Bean 类型
+     * @return 估算字节数
+     */
+    static long estimateShallowSize(Class<?> beanClass) {
+        long size = OBJECT_HEADER_BYTES;
+        for (Class<?> current = beanClass; current != null && current != Object.class; current = current.getSuperclass()) {
+            for (Field field : current.getDeclaredFields()) {
+                if (!Modifier.isStatic(field.getModifiers())) {
+                    size += fieldSize(field.getType());
+                }
+            }
+        }
+        return (size + OBJECT_ALIGNMENT - 1) / OBJECT_ALIGNMENT * OBJECT_ALIGNMENT;
+    }
+
+    private static int fieldSize(Class<?> type) {
+        if (type == long.class || type == double.class) {
+            return 8;
+        }
+        if (type == int.class || type == float.class) {
+            return 4;
+        }
+        if (type == short.class || type == char.class) {
+            return 2;
+        }
+        if (type == byte.class || type == boolean.class) {
+            return 1;
+        }
+        return REFERENCE_BYTES;
+    }
+
+    /**
+     * @return 声明的根 Bean 名称；为空表示未启用剪枝，所有单例都被预实例化
+     */
+    public List<String> getRootBeanNames() {
+        return rootBeanNames;
+    }
+
+    /**
+     * @return 没有声明但仍作为根处理的 Bean 名称（事件监听器单例）；未启用剪枝时为空
+     */
+    public List<String> getImplicitRootBeanNames() {
+        return implicitRootBeanNames;
+    }
+
+    /**
+     * @return 本次预实例化（或此前已经创建）的单例名称
+     */
+    public List<String> getInstantiatedBeanNames() {
+        return instantiatedBeanNames;
+    }
+
+    /**
+     * @return 从根 Bean 不可达而被跳过的单例名称
+     */
+    public List<String> getPrunedBeanNames() {
+        return List.copyOf(prunedBeans.keySet());
+    }
+
+    /**
+     * @param beanName 被跳过的 Bean 名称
+     * @return 该 Bean 实例的浅层字节数（不含引用的对象），不在剪枝列表中时为 0
+     */
+    public long getEstimatedShallowBytes(String beanName) {
+        return prunedBeans.getOrDefault(beanName, 0L);
+    }
+
+    /**
+     * @return 所有被跳过的单例的浅层字节数之和；是节省内存的下限，不是节省的内存
+     */
+    public long getEstimatedPrunedShallowBytes() {
+        long total = 0L;
+        for (long bytes : prunedBeans.values()) {
+            total += bytes;
+        }
+        return total;
+    }
+
+    public long getElapsedNanos() {
+        return elapsedNanos;
+    }
+
+    @Override
+    public String toString() {
+        StringBuilder report = new StringBuilder();
+        report.append(String.format("roots=%s implicitRoots=%s instantiated=%d pruned=%d prunedShallowBytes=%d elapsed=%.3f ms%n",
+                rootBeanNames, implicitRootBeanNames, instantiatedBeanNames.size(), prunedBeans.size(), getEstimatedPrunedShallowBytes(), elapsedNanos / 1e6));
+        for (Map.Entry<String, Long> entry : prunedBeans.entrySet()) {
+            report.append("  pruned ").append(entry.getKey()).append(" (shallow ").append(entry.getValue()).append(" bytes)\n");
+        }
+        return report.toString();
+    }
+}
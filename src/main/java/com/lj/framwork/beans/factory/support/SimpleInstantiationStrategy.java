@@ -1,6 +1,7 @@
 package com.lj.framwork.beans.factory.support;
 
 import com.lj.framwork.beans.BeansException;
+import com.lj.framwork.beans.factory.BeanFactory;
 import com.lj.framwork.beans.factory.config.BeanDefinition;
 import java.lang.reflect.Constructor;
 import java.lang.reflect.InvocationTargetException;
@@ -12,7 +13,7 @@ import java.lang.reflect.InvocationTargetException;
  * 适用场景：
  * 1. 存在无参构造函数时。
  * 2. 存在指定的含参构造函数，且能够明确匹配参数类型时。
- * 注意：该策略不处理 CGLIB 动态代理等高级字节码增强逻辑。
+ * 注意：该策略不处理 CGLIB 动态代理等高级字节码增强逻辑，声明了方法覆盖（lookup-method）的 Bean 无法使用该策略。
  *
  * @Author Dark Chocolate 2069057986@qq.com
  * @Date 2026/1/16 10:52
@@ -24,13 +25,18 @@ public class SimpleInstantiationStrategy implements InstantiationStrategy {
      * 利用反射创建 Bean 实例。
      * @param beanDefinition Bean 定义信息
      * @param beanName       Bean 名称
+     * @param owner          所属的 Bean 工厂（本策略不使用）
      * @param ctor           具体的构造函数。如果不为空，则优先使用该构造函数。
      * @param args           构造函数入参。
      * @return 实例化后的 Object
      * @throws BeansException 包装并抛出实例化过程中的各类异常
      */
     @Override
-    public Object instantiate(BeanDefinition beanDefinition, String beanName, Constructor ctor, Object[] args) throws BeansException {
+    public Object instantiate(BeanDefinition beanDefinition, String beanName, BeanFactory owner, Constructor ctor, Object[] args) throws BeansException {
+        if (beanDefinition.hasMethodOverrides()) {
+            throw new BeansException("Method injection is not supported by SimpleInstantiationStrategy, bean: " + beanName);
+        }
+
         // 获取 Class 对象
         Class<?> clazz = beanDefinition.getBeanClass();
         try {
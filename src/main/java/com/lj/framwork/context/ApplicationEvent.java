@@ -0,0 +1,31 @@
+package com.lj.framwork.context;
+
+import java.util.EventObject;
+
+/**
+ * @ClassName ApplicationEvent
+ * @Description 应用事件基类，所有通过容器发布的事件都继承它
+ * @Author Dark Chocolate 2069057986@qq.com
+ * @Date 2026/1/31 9:10
+ * @Version JDK 17
+ */
+public abstract class ApplicationEvent extends EventObject {
+
+    /**
+     * 事件创建时间（毫秒）
+     */
+    private final long timestamp;
+
+    /**
+     * @param source 事件源，不能为 null
+     */
+    public ApplicationEvent(Object source) {
+        super(source);
+        this.timestamp = System.currentTimeMillis();
+    }
+
+    public final long getTimestamp() {
+        return timestamp;
+    }
+
+}
@@ -0,0 +1,18 @@
+package com.lj.framwork.context;
+
+/**
+ * @ClassName ApplicationEventPublisher
+ * @Description 事件发布接口
+ * @Author Dark Chocolate 2069057986@qq.com
+ * @Date 2026/1/31 9:14
+ * @Version JDK 17
+ */
+public interface ApplicationEventPublisher {
+
+    /**
+     * 把事件分发给所有匹配的监听器
+     * @param event 事件
+     */
+    void publishEvent(ApplicationEvent event);
+
+}
@@ -0,0 +1,23 @@
+package com.lj.framwork.context;
+
+import java.util.EventListener;
+
+/**
+ * @ClassName ApplicationListener
+ * @Description 应用事件监听器。
+ * 实现该接口的单例 Bean 在创建时会自动注册到容器的事件广播器上；
+ * 泛型参数声明了监听的事件类型，只有该类型（及其子类）的事件才会分发过来。
+ * @Author Dark Chocolate 2069057986@qq.com
+ * @Date 2026/1/31 9:12
+ * @Version JDK 17
+ */
+@FunctionalInterface
+public interface ApplicationListener<E extends ApplicationEvent> extends EventListener {
+
+    /**
+     * 处理事件
+     * @param event 事件
+     */
+    void onApplicationEvent(E event);
+
+}
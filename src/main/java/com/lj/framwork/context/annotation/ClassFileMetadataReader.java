@@ -0,0 +1,178 @@
+package com.lj.framwork.context.annotation;
+
+import java.io.ByteArrayInputStream;
+import java.io.DataInputStream;
+import java.io.IOException;
+import java.util.HashSet;
+import java.util.Set;
+
+/**
+ * @ClassName ClassFileMetadataReader
+ * @Description 轻量级 class 文件解析器。
+ * 类路径回退扫描时使用：直接解析 class 文件的字节，读取类名、访问标志以及类级别的运行时注解，
+ * 而不通过类加载器加载类（不会触发静态初始化，也不会把成千上万的非组件类塞进元空间）。
+ * 只解析常量池和类属性表，字段和方法的属性按长度整段跳过。
+ * @Author Dark Chocolate 2069057986@qq.com
+ * @Date 2026/1/23 15:30
+ * @Version JDK 17
+ */
+final class ClassFileMetadataReader {
+
+    static final int ACC_INTERFACE = 0x0200;
+
+    static final int ACC_ABSTRACT = 0x0400;
+
+    static final int ACC_ANNOTATION = 0x2000;
+
+    private ClassFileMetadataReader() {
+    }
+
+    /**
+     * 解析 class 文件。
+     * @param classFile class 文件的全部字节
+     * @return 类元数据
+     * @throws IOException 文件格式不合法时抛出
+     */
+    static ClassMetadata read(byte[] classFile) throws IOException {
+        DataInputStream in = new DataInputStream(new ByteArrayInputStream(classFile));
+        if (in.readInt() != 0xCAFEBABE) {
+            throw new IOException("Not a class file");
+        }
+        // minor_version, major_version
+        in.skipBytes(4);
+
+        // 常量池：只保留 Utf8 字符串和 Class 条目（指向 Utf8 的索引），其余按长度跳过
+        int constantPoolCount = in.readUnsignedShort();
+        String[] utf8 = new String[constantPoolCount];
+        int[] classNameIndex = new int[constantPoolCount];
+        for (int i = 1; i < constantPoolCount; i++) {
+            int tag = in.readUnsignedByte();
+            switch (tag) {
+                case 1 -> utf8[i] = in.readUTF();
+                case 7 -> classNameIndex[i] = in.readUnsignedShort();
+                case 8, 16, 19, 20 -> in.skipBytes(2);
+                case 15 -> in.skipBytes(3);
+                case 3, 4, 9, 10, 11, 12, 17, 18 -> in.skipBytes(4);
+                case 5, 6 -> {
+                    // long / double 占两个常量池槽位
+                    in.skipBytes(8);
+                    i++;
+                }
+                default -> throw new IOException("Unknown constant pool tag " + tag);
+            }
+        }
+
+        int accessFlags = in.readUnsignedShort();
+        String className = utf8[classNameIndex[in.readUnsignedShort()]].replace('/', '.');
+        // super_class
+        in.skipBytes(2);
+        in.skipBytes(2 * in.readUnsignedShort());
+
+        // 字段表与方法表结构相同，整体跳过
+        for (int member = 0; member < 2; member++) {
+            int count = in.readUnsignedShort();
+            for (int i = 0; i < count; i++) {
+                in.skipBytes(6);
+                skipAttributes(in);
+            }
+        }
+
+        Set<String> annotations = new HashSet<>();
+        int attributesCount = in.readUnsignedShort();
+        for (int i = 0; i < attributesCount; i++) {
+            String attributeName = utf8[in.readUnsignedShort()];
+            int length = in.readInt();
+            if ("RuntimeVisibleAnnotations".equals(attributeName)) {
+                int annotationCount = in.readUnsignedShort();
+                for (int a = 0; a < annotationCount; a++) {
+                    annotations.add(toClassName(utf8[in.readUnsignedShort()]));
+                    skipElementValuePairs(in);
+                }
+            } else {
+                in.skipBytes(length);
+            }
+        }
+        return new ClassMetadata(className, accessFlags, annotations);
+    }
+
+    private static void skipAttributes(DataInputStream in) throws IOException {
+        int count = in.readUnsignedShort();
+        for (int i = 0; i < count; i++) {
+            in.skipBytes(2);
+            in.skipBytes(in.readInt());
+        }
+    }
+
+    /**
+     * 跳过一个注解的 element_value_pairs（扫描只关心类上有哪些注解，不关心注解属性）
+     */
+    private static void skipElementValuePairs(DataInputStream in) throws IOException {
+        int pairs = in.readUnsignedShort();
+        for (int p = 0; p < pairs; p++) {
+            in.skipBytes(2);
+            skipElementValue(in);
+        }
+    }
+
+    private static void skipElementValue(DataInputStream in) throws IOException {
+        int tag = in.readUnsignedByte();
+        switch (tag) {
+            case 'B', 'C', 'D', 'F', 'I', 'J', 'S', 'Z', 's', 'c' -> in.skipBytes(2);
+            case 'e' -> in.skipBytes(4);
+            case '@' -> {
+                in.skipBytes(2);
+                skipElementValuePairs(in);
+            }
+            case '[' -> {
+                int count = in.readUnsignedShort();
+                for (int i = 0; i < count; i++) {
+                    skipElementValue(in);
+                }
+            }
+            default -> throw new IOException("Unknown element value tag " + (char) tag);
+        }
+    }
+
+    /**
+     * 把字段描述符形式的类型（如 Lcom/foo/Bar;）转换为类名（com.foo.Bar）
+     */
+    private static String toClassName(String descriptor) {
+        return descriptor.substring(1, descriptor.length() - 1).replace('/', '.');
+    }
+
+    /**
+     * 解析得到的类元数据
+     */
+    static final class ClassMetadata {
+
+        private final String className;
+
+        private final int accessFlags;
+
+        /**
+         * 类上的运行时注解类名
+         */
+        private final Set<String> annotations;
+
+        private ClassMetadata(String className, int accessFlags, Set<String> annotations) {
+            this.className = className;
+            this.accessFlags = accessFlags;
+            this.annotations = annotations;
+        }
+
+        String getClassName() {
+            return className;
+        }
+
+        /**
+         * @return 是否为可以实例化的具体类（不是接口、注解或抽象类）
+         */
+        boolean isConcrete() {
+            return (accessFlags & (ACC_INTERFACE | ACC_ABSTRACT | ACC_ANNOTATION)) == 0;
+        }
+
+        boolean hasAnnotation(String annotationType) {
+            return annotations.contains(annotationType);
+        }
+    }
+}
@@ -0,0 +1,213 @@
+package com.lj.framwork.context.annotation;
+
+import cn.hutool.core.util.StrUtil;
+import com.lj.framwork.beans.BeansException;
+import com.lj.framwork.beans.factory.config.BeanDefinition;
+import com.lj.framwork.beans.factory.support.BeanDefinitionRegistry;
+import com.lj.framwork.context.index.CandidateComponentsIndex;
+import com.lj.framwork.context.index.CandidateComponentsIndexLoader;
+import com.lj.framwork.stereotype.Component;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.UncheckedIOException;
+import java.net.JarURLConnection;
+import java.net.URISyntaxException;
+import java.net.URL;
+import java.net.URLConnection;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.Enumeration;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Objects;
+import java.util.Set;
+import java.util.jar.JarEntry;
+import java.util.jar.JarFile;
+import java.util.stream.Collectors;
+import java.util.stream.Stream;
+
+/**
+ * @ClassName ClassPathBeanDefinitionScanner
+ * @Description 类路径组件扫描器。
+ * 在指定的基础包下查找标注了 {@link Component} 的类，并为其注册 BeanDefinition。
+ * 查找候选类有两条路径：
+ * 1. 索引（优先）：读取编译期由 CandidateComponentsIndexer 生成的 META-INF/lj.components，
+ *    只是一次资源读取加字符串前缀过滤，不遍历任何 jar 包。
+ * 2. 回退扫描：类路径中没有索引时，列出基础包下所有 class 文件，并行地解析 class 文件头部
+ *    （常量池与类注解），不通过类加载器加载类；只有确认是组件的类才会被加载。
+ * @Author Dark Chocolate 2069057986@qq.com
+ * @Date 2026/1/23 16:10
+ * @Version JDK 17
+ */
+public class ClassPathBeanDefinitionScanner {
+
+    private static final String COMPONENT_ANNOTATION = Component.class.getName();
+
+    private static final String CLASS_FILE_SUFFIX = ".class";
+
+    private final BeanDefinitionRegistry registry;
+
+    private ClassLoader classLoader;
+
+    /**
+     * 是否使用编译期索引，关闭后总是走类路径扫描
+     */
+    private boolean useIndex = true;
+
+    public ClassPathBeanDefinitionScanner(BeanDefinitionRegistry registry) {
+        this.registry = registry;
+        this.classLoader = Thread.currentThread().getContextClassLoader();
+        if (this.classLoader == null) {
+            this.classLoader = ClassPathBeanDefinitionScanner.class.getClassLoader();
+        }
+    }
+
+    /**
+     * 扫描指定的基础包并注册找到的组件。
+     * @param basePackages 基础包名
+     * @return 注册的 BeanDefinition 数量
+     * @throws BeansException 读取类路径或加载候选类失败时抛出
+     */
+    public int scan(String... basePackages) throws BeansException {
+        int count = 0;
+        for (String basePackage : basePackages) {
+            for (Class<?> candidate : findCandidateComponents(basePackage)) {
+                registry.registerBeanDefinition(determineBeanName(candidate), new BeanDefinition(candidate));
+                count++;
+            }
+        }
+        return count;
+    }
+
+    /**
+     * 查找基础包下的所有候选组件类。
+     * @param basePackage 基础包名
+     * @return 候选组件类
+     */
+    public Set<Class<?>> findCandidateComponents(String basePackage) throws BeansException {
+        CandidateComponentsIndex index = useIndex ? CandidateComponentsIndexLoader.loadIndex(classLoader) : null;
+        List<String> classNames = index != null
+                ? index.getCandidateTypes(basePackage, COMPONENT_ANNOTATION)
+                : scanCandidateComponents(basePackage);
+
+        Set<Class<?>> candidates = new LinkedHashSet<>();
+        for (String className : classNames) {
+            try {
+                // 不触发静态初始化，真正的初始化留到 Bean 实例化时
+                candidates.add(Class.forName(className, false, classLoader));
+            } catch (ClassNotFoundException e) {
+                throw new BeansException("Failed to load candidate component class [" + className + "]", e);
+            }
+        }
+        return candidates;
+    }
+
+    /**
+     * 回退路径：列出基础包下所有 class 文件，并行解析文件头，筛选出组件类名。
+     */
+    private List<String> scanCandidateComponents(String basePackage) throws BeansException {
+        String packagePath = basePackage.replace('.', '/');
+        List<ClassFileSource> sources = new ArrayList<>();
+        List<JarFile> openedJars = new ArrayList<>();
+        try {
+            Enumeration<URL> roots = classLoader.getResources(packagePath);
+            while (roots.hasMoreElements()) {
+                collectClassFiles(roots.nextElement(), packagePath, sources, openedJars);
+            }
+            return sources.parallelStream()
+                    .map(ClassPathBeanDefinitionScanner::readComponentClassName)
+                    .filter(Objects::nonNull)
+                    .sorted()
+                    .collect(Collectors.toList());
+        } catch (IOException | UncheckedIOException e) {
+            throw new BeansException("I/O failure during classpath scanning of package '" + basePackage + "'", e);
+        } finally {
+            for (JarFile jar : openedJars) {
+                try {
+                    jar.close();
+                } catch (IOException ignored) {
+                    // 关闭失败不影响扫描结果
+                }
+            }
+        }
+    }
+
+    private void collectClassFiles(URL root, String packagePath, List<ClassFileSource> sources, List<JarFile> openedJars) throws IOException {
+        if ("file".equals(root.getProtocol())) {
+            Path directory;
+            try {
+                directory = Paths.get(root.toURI());
+            } catch (URISyntaxException e) {
+                throw new IOException("Invalid classpath root " + root, e);
+            }
+            try (Stream<Path> files = Files.walk(directory)) {
+                files.filter(file -> file.toString().endsWith(CLASS_FILE_SUFFIX))
+                        .forEach(file -> sources.add(() -> Files.readAllBytes(file)));
+            }
+        } else if ("jar".equals(root.getProtocol())) {
+            URLConnection connection = root.openConnection();
+            connection.setUseCaches(false);
+            JarFile jar = ((JarURLConnection) connection).getJarFile();
+            openedJars.add(jar);
+            String prefix = packagePath + "/";
+            for (JarEntry entry : Collections.list(jar.entries())) {
+                String name = entry.getName();
+                if (name.startsWith(prefix) && name.endsWith(CLASS_FILE_SUFFIX)) {
+                    sources.add(() -> {
+                        try (InputStream in = jar.getInputStream(entry)) {
+                            return in.readAllBytes();
+                        }
+                    });
+                }
+            }
+        }
+    }
+
+    /**
+     * 解析一个 class 文件，是具体的组件类则返回类名，否则返回 null
+     */
+    private static String readComponentClassName(ClassFileSource source) {
+        try {
+            ClassFileMetadataReader.ClassMetadata metadata = ClassFileMetadataReader.read(source.read());
+            if (metadata.isConcrete() && metadata.hasAnnotation(COMPONENT_ANNOTATION)) {
+                return metadata.getClassName();
+            }
+            return null;
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+
+    /**
+     * Bean 名称：优先取 @Component 的 value，否则为首字母小写的简单类名
+     */
+    private String determineBeanName(Class<?> candidate) {
+        Component component = candidate.getAnnotation(Component.class);
+        if (component != null && !component.value().isEmpty()) {
+            return component.value();
+        }
+        return StrUtil.lowerFirst(candidate.getSimpleName());
+    }
+
+    public void setClassLoader(ClassLoader classLoader) {
+        this.classLoader = classLoader;
+    }
+
+    public void setUseIndex(boolean useIndex) {
+        this.useIndex = useIndex;
+    }
+
+    /**
+     * class 文件字节的来源（目录中的文件或 jar 包中的条目）
+     */
+    @FunctionalInterface
+    private interface ClassFileSource {
+
+        byte[] read() throws IOException;
+
+    }
+}
@@ -0,0 +1,23 @@
+package com.lj.framwork.context.aot;
+
+import com.lj.framwork.beans.factory.support.DefaultListableBeanFactory;
+
+/**
+ * @ClassName BeanRegistrar
+ * @Description 编译期生成的 Bean 注册器。
+ * {@link BeanRegistrarGenerator} 为每个包含组件的包生成一个实现类，
+ * 其中为每个组件注册一个携带 {@link com.lj.framwork.beans.factory.config.BeanInstantiator} 的 BeanDefinition。
+ * @Author Dark Chocolate 2069057986@qq.com
+ * @Date 2026/2/3 9:40
+ * @Version JDK 17
+ */
+public interface BeanRegistrar {
+
+    /**
+     * 把生成的 BeanDefinition 注册到工厂
+     * @param beanFactory Bean 工厂
+     * @return 注册的 BeanDefinition 数量
+     */
+    int registerBeans(DefaultListableBeanFactory beanFactory);
+
+}
@@ -0,0 +1,529 @@
+package com.lj.framwork.context.aot;
+
+import com.lj.framwork.beans.factory.annotation.Autowired;
+import com.lj.framwork.stereotype.Component;
+
+import javax.annotation.processing.AbstractProcessor;
+import javax.annotation.processing.ProcessingEnvironment;
+import javax.annotation.processing.RoundEnvironment;
+import javax.annotation.processing.SupportedAnnotationTypes;
+import javax.annotation.processing.SupportedOptions;
+import javax.lang.model.SourceVersion;
+import javax.lang.model.element.Element;
+import javax.lang.model.element.ElementKind;
+import javax.lang.model.element.ExecutableElement;
+import javax.lang.model.element.Modifier;
+import javax.lang.model.element.NestingKind;
+import javax.lang.model.element.TypeElement;
+import javax.lang.model.element.VariableElement;
+import javax.lang.model.type.DeclaredType;
+import javax.lang.model.type.TypeKind;
+import javax.lang.model.type.TypeMirror;
+import javax.tools.Diagnostic;
+import javax.tools.FileObject;
+import javax.tools.JavaFileObject;
+import javax.tools.StandardLocation;
+import java.io.IOException;
+import java.io.OutputStreamWriter;
+import java.io.Writer;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Deque;
+import java.util.HashSet;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.TreeMap;
+import java.util.TreeSet;
+
+/**
+ * @ClassName BeanRegistrarGenerator
+ * @Description 编译期依赖注入代码生成器（注解处理器）。
+ * 读取所有标注了 {@link Component} 的具体类及其 {@link Autowired} 字段与 setter，在编译期完成按类型的依赖解析，
+ * 为每个包生成一个 {@value #REGISTRAR_SIMPLE_NAME}（实现 {@link BeanRegistrar}）：
+ * 每个组件对应一个 BeanDefinition，其实例化回调直接 new 出对象并调用 setter / 为字段赋值，
+ * 组件按依赖顺序注册（被依赖的在前）。运行时不需要构造函数查找、CGLIB 子类、注解扫描或 Hutool 反射赋值。
+ * 生成的注册器写入 {@value BeanRegistrarLoader#REGISTRARS_RESOURCE_LOCATION}，由 {@link BeanRegistrarLoader} 加载。
+ * 处理器默认不做任何事，需要通过编译参数 -A{@value #ENABLED_OPTION}=true 显式开启。
+ * 生成的代码无法处理的组件不会导致编译失败，而是给出警告并退回运行时：
+ * 1. 私有类、非 static 的内部类、没有非 private 无参构造函数的类：跳过，不生成 BeanDefinition（仍可由运行时扫描注册）。
+ * 2. 注入点是 private 或 static、不是 public 且与组件不在同一个包中（生成的代码与组件同包），
+ *    或依赖在本次编译的组件中找不到 / 有多个匹配（可能只在运行时注册）：生成不带实例化回调的 BeanDefinition，由运行时反射注入。
+ * 依赖只在本次编译的组件中按类型解析：唯一匹配直接使用，多个匹配时取名称与字段名/属性名相同的那个。
+ * 组件之间的循环依赖在运行时同样无法创建，因此仍然报编译错误。
+ * @Author Dark Chocolate 2069057986@qq.com
+ * @Date 2026/2/3 10:10
+ * @Version JDK 17
+ */
+@SupportedAnnotationTypes("com.lj.framwork.stereotype.Component")
+@SupportedOptions(BeanRegistrarGenerator.ENABLED_OPTION)
+public class BeanRegistrarGenerator extends AbstractProcessor {
+
+    /**
+     * 开启代码生成的处理器参数
+     */
+    public static final String ENABLED_OPTION = "lj.aot.enabled";
+
+    static final String REGISTRAR_SIMPLE_NAME = "GeneratedBeanRegistrar";
+
+    private boolean enabled;
+
+    /**
+     * 已经收集的全部组件（跨轮次），按 Bean 名称索引
+     */
+    private final Map<String, ComponentModel> components = new LinkedHashMap<>();
+
+    /**
+     * 已经生成的注册器全限定名
+     */
+    private final Set<String> registrars = new TreeSet<>();
+
+    @Override
+    public SourceVersion getSupportedSourceVersion() {
+        return SourceVersion.latestSupported();
+    }
+
+    @Override
+    public synchronized void init(ProcessingEnvironment processingEnv) {
+        super.init(processingEnv);
+        this.enabled = Boolean.parseBoolean(processingEnv.getOptions().get(ENABLED_OPTION));
+    }
+
+    @Override
+    public boolean process(Set<? extends TypeElement> annotations, RoundEnvironment roundEnv) {
+        if (!enabled) {
+            return false;
+        }
+        List<ComponentModel> roundComponents = new ArrayList<>();
+        for (Element element : roundEnv.getElementsAnnotatedWith(Component.class)) {
+            if (element.getKind() != ElementKind.CLASS || element.getModifiers().contains(Modifier.ABSTRACT)) {
+                continue;
+            }
+            ComponentModel component = buildModel((TypeElement) element);
+            if (component == null) {
+                continue;
+            }
+            ComponentModel existing = components.putIfAbsent(component.beanName, component);
+            if (existing != null) {
+                error(element, "Duplicate bean name '" + component.beanName + "', already used by " + existing.type.getQualifiedName());
+                continue;
+            }
+            roundComponents.add(component);
+        }
+
+        if (!roundComponents.isEmpty()) {
+            resolveDependencies(roundComponents);
+            if (checkAcyclic(roundComponents)) {
+                generateRegistrars(roundComponents);
+            }
+        }
+        if (roundEnv.processingOver() && !registrars.isEmpty()) {
+            writeServiceFile();
+        }
+        return false;
+    }
+
+    // ------------------------------------------------------------------ 模型
+
+    private ComponentModel buildModel(TypeElement type) {
+        if (type.getModifiers().contains(Modifier.PRIVATE)
+                || (type.getNestingKind() == NestingKind.MEMBER && !type.getModifiers().contains(Modifier.STATIC))) {
+            warning(type, "Generated bean registrar cannot instantiate private or inner (non-static) class "
+                    + type.getQualifiedName() + "; skipped");
+            return null;
+        }
+        if (!hasAccessibleNoArgConstructor(type)) {
+            warning(type, "Component " + type.getQualifiedName()
+                    + " has no non-private no-arg constructor for the generated bean registrar; skipped");
+            return null;
+        }
+
+        String packageName = processingEnv.getElementUtils().getPackageOf(type).getQualifiedName().toString();
+        ComponentModel component = new ComponentModel(type, determineBeanName(type), packageName);
+
+        // 与运行时的 InjectionMetadata 一致：父类的注入点先注入
+        Deque<TypeElement> hierarchy = new ArrayDeque<>();
+        for (TypeElement current = type; current != null; current = superclassOf(current)) {
+            hierarchy.push(current);
+        }
+        for (TypeElement declaringType : hierarchy) {
+            for (Element member : declaringType.getEnclosedElements()) {
+                Autowired autowired = member.getAnnotation(Autowired.class);
+                if (autowired == null) {
+                    continue;
+                }
+                if (!isAccessibleFrom(member, declaringType, packageName)) {
+                    component.fallBackToRuntimeInjection(member, "@Autowired member " + member.getSimpleName()
+                            + " is private, static, or not public in another package");
+                    continue;
+                }
+                if (member.getKind() == ElementKind.FIELD) {
+                    VariableElement field = (VariableElement) member;
+                    component.injectionPoints.add(new InjectionPoint(true, field.getSimpleName().toString(),
+                            erasure(field.asType()), field.getSimpleName().toString(), autowired.required()));
+                } else if (member.getKind() == ElementKind.METHOD) {
+                    ExecutableElement method = (ExecutableElement) member;
+                    if (method.getParameters().size() != 1) {
+                        component.fallBackToRuntimeInjection(member, "@Autowired method " + member.getSimpleName()
+                                + " does not have exactly one parameter");
+                        continue;
+                    }
+                    String methodName = method.getSimpleName().toString();
+                    component.injectionPoints.add(new InjectionPoint(false, methodName,
+                            erasure(method.getParameters().get(0).asType()), propertyName(methodName), autowired.required()));
+                }
+            }
+        }
+        return component;
+    }
+
+    private boolean hasAccessibleNoArgConstructor(TypeElement type) {
+        for (Element member : type.getEnclosedElements()) {
+            if (member.getKind() == ElementKind.CONSTRUCTOR
+                    && ((ExecutableElement) member).getParameters().isEmpty()
+                    && !member.getModifiers().contains(Modifier.PRIVATE)) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    private boolean isAccessibleFrom(Element member, TypeElement declaringType, String packageName) {
+        Set<Modifier> modifiers = member.getModifiers();
+        if (modifiers.contains(Modifier.PRIVATE) || modifiers.contains(Modifier.STATIC)) {
+            return false;
+        }
+        if (modifiers.contains(Modifier.PUBLIC)) {
+            return true;
+        }
+        return processingEnv.getElementUtils().getPackageOf(declaringType).getQualifiedName().contentEquals(packageName);
+    }
+
+    private TypeElement superclassOf(TypeElement type) {
+        TypeMirror superclass = type.getSuperclass();
+        if (superclass.getKind() != TypeKind.DECLARED) {
+            return null;
+        }
+        TypeElement element = (TypeElement) ((DeclaredType) superclass).asElement();
+        return element.getQualifiedName().contentEquals(Object.class.getName()) ? null : element;
+    }
+
+    private TypeMirror erasure(TypeMirror type) {
+        return processingEnv.getTypeUtils().erasure(type);
+    }
+
+    /**
+     * 与 ClassPathBeanDefinitionScanner 的命名规则一致：@Component 的 value，否则为首字母小写的简单类名
+     */
+    private static String determineBeanName(TypeElement type) {
+        String value = type.getAnnotation(Component.class).value();
+        if (!value.isEmpty()) {
+            return value;
+        }
+        return lowerFirst(type.getSimpleName().toString());
+    }
+
+    /**
+     * 与运行时一致：setUserDao -> userDao，不以 set 开头时使用方法名
+     */
+    private static String propertyName(String methodName) {
+        if (methodName.length() > 3 && methodName.startsWith("set")) {
+            return lowerFirst(methodName.substring(3));
+        }
+        return methodName;
+    }
+
+    private static String lowerFirst(String name) {
+        return Character.toLowerCase(name.charAt(0)) + name.substring(1);
+    }
+
+    // ------------------------------------------------------------------ 依赖解析
+
+    /**
+     * 在编译期按类型解析每个注入点对应的 Bean 名称，解析不了的组件退回运行时注入
+     */
+    private void resolveDependencies(List<ComponentModel> roundComponents) {
+        for (ComponentModel component : roundComponents) {
+            for (InjectionPoint point : component.injectionPoints) {
+                if (component.runtimeInjection) {
+                    break;
+                }
+                List<String> candidates = new ArrayList<>();
+                String byName = null;
+                for (ComponentModel candidate : components.values()) {
+                    if (candidate == component || !processingEnv.getTypeUtils().isAssignable(erasure(candidate.type.asType()), point.type)) {
+                        continue;
+                    }
+                    candidates.add(candidate.beanName);
+                    if (candidate.beanName.equals(point.dependencyName)) {
+                        byName = candidate.beanName;
+                    }
+                }
+                if (byName != null || candidates.size() == 1) {
+                    point.resolvedBeanName = byName != null ? byName : candidates.get(0);
+                } else if (candidates.isEmpty()) {
+                    // 依赖可能只在运行时注册（XML、手工注册等），交给运行时按同样的规则解析
+                    component.fallBackToRuntimeInjection(component.type, "No component of type [" + point.type
+                            + "] for " + (point.required ? "" : "optional ") + "dependency '" + point.dependencyName + "' in this compilation");
+                } else {
+                    component.fallBackToRuntimeInjection(component.type, "Expected single component of type [" + point.type
+                            + "] for dependency '" + point.dependencyName + "' but found " + candidates);
+                }
+            }
+        }
+    }
+
+    /**
+     * 检查组件之间没有循环依赖（运行时无法创建）
+     */
+    private boolean checkAcyclic(List<ComponentModel> roundComponents) {
+        Set<String> finished = new HashSet<>();
+        for (ComponentModel component : roundComponents) {
+            List<String> cycle = findCycle(component, new ArrayList<>(), finished);
+            if (cycle != null) {
+                error(component.type, "Circular dependency between components: " + String.join(" -> ", cycle));
+                return false;
+            }
+        }
+        return true;
+    }
+
+    private List<String> findCycle(ComponentModel component, List<String> path, Set<String> finished) {
+        int index = path.indexOf(component.beanName);
+        if (index >= 0) {
+            List<String> cycle = new ArrayList<>(path.subList(index, path.size()));
+            cycle.add(component.beanName);
+            return cycle;
+        }
+        if (finished.contains(component.beanName)) {
+            return null;
+        }
+        path.add(component.beanName);
+        for (String dependency : component.dependencies()) {
+            ComponentModel target = components.get(dependency);
+            List<String> cycle = target != null ? findCycle(target, path, finished) : null;
+            if (cycle != null) {
+                return cycle;
+            }
+        }
+        path.remove(path.size() - 1);
+        finished.add(component.beanName);
+        return null;
+    }
+
+    // ------------------------------------------------------------------ 代码生成
+
+    private void generateRegistrars(List<ComponentModel> roundComponents) {
+        Map<String, List<ComponentModel>> byPackage = new TreeMap<>();
+        for (ComponentModel component : roundComponents) {
+            byPackage.computeIfAbsent(component.packageName, k -> new ArrayList<>()).add(component);
+        }
+        for (Map.Entry<String, List<ComponentModel>> entry : byPackage.entrySet()) {
+            String packageName = entry.getKey();
+            String registrarName = packageName.isEmpty() ? REGISTRAR_SIMPLE_NAME : packageName + "." + REGISTRAR_SIMPLE_NAME;
+            if (registrars.contains(registrarName)) {
+                processingEnv.getMessager().printMessage(Diagnostic.Kind.WARNING,
+                        "Components in package '" + packageName + "' generated in a later round are not included in " + registrarName);
+                continue;
+            }
+            try {
+                JavaFileObject file = processingEnv.getFiler().createSourceFile(registrarName,
+                        entry.getValue().stream().map(c -> c.type).toArray(Element[]::new));
+                try (Writer writer = file.openWriter()) {
+                    writer.write(renderRegistrar(packageName, sortByDependencies(entry.getValue())));
+                }
+                registrars.add(registrarName);
+            } catch (IOException e) {
+                processingEnv.getMessager().printMessage(Diagnostic.Kind.ERROR, "Unable to write " + registrarName + ": " + e);
+            }
+        }
+    }
+
+    /**
+     * 同一个包内按依赖排序：被依赖的组件先注册
+     */
+    private List<ComponentModel> sortByDependencies(List<ComponentModel> packageComponents) {
+        List<ComponentModel> sorted = new ArrayList<>();
+        Set<String> visited = new HashSet<>();
+        for (ComponentModel component : packageComponents) {
+            visit(component, packageComponents, visited, sorted);
+        }
+        return sorted;
+    }
+
+    private void visit(ComponentModel component, List<ComponentModel> packageComponents, Set<String> visited, List<ComponentModel> sorted) {
+        if (!visited.add(component.beanName)) {
+            return;
+        }
+        for (String dependency : component.dependencies()) {
+            ComponentModel target = components.get(dependency);
+            if (target != null && packageComponents.contains(target)) {
+                visit(target, packageComponents, visited, sorted);
+            }
+        }
+        sorted.add(component);
+    }
+
+    private String renderRegistrar(String packageName, List<ComponentModel> packageComponents) {
+        StringBuilder code = new StringBuilder();
+        if (!packageName.isEmpty()) {
+            code.append("package ").append(packageName).append(";\n\n");
+        }
+        code.append("/**\n")
+                .append(" * 由 ").append(BeanRegistrarGenerator.class.getName()).append(" 在编译期生成，请勿手工修改。\n")
+                .append(" */\n")
+                .append("@javax.annotation.processing.Generated(\"").append(BeanRegistrarGenerator.class.getName()).append("\")\n")
+                .append("public final class ").append(REGISTRAR_SIMPLE_NAME)
+                .append(" implements ").append(BeanRegistrar.class.getName()).append(" {\n\n")
+                .append("    @Override\n")
+                .append("    public int registerBeans(com.lj.framwork.beans.factory.support.DefaultListableBeanFactory beanFactory) {\n");
+        for (ComponentModel component : packageComponents) {
+            renderComponent(code, component);
+        }
+        code.append("        return ").append(packageComponents.size()).append(";\n")
+                .append("    }\n\n")
+                .append("}\n");
+        return code.toString();
+    }
+
+    private void renderComponent(StringBuilder code, ComponentModel component) {
+        String typeName = component.type.getQualifiedName().toString();
+        if (component.runtimeInjection) {
+            code.append("        beanFactory.registerBeanDefinition(").append(literal(component.beanName))
+                    .append(", new com.lj.framwork.beans.factory.config.BeanDefinition(").append(typeName).append(".class));\n");
+            return;
+        }
+        List<String> dependencies = component.dependencies();
+
+        code.append("        beanFactory.registerBeanDefinition(").append(literal(component.beanName))
+                .append(", new com.lj.framwork.beans.factory.config.BeanDefinition(").append(typeName).append(".class,\n")
+                .append("                new String[]{");
+        for (int i = 0; i < dependencies.size(); i++) {
+            code.append(i > 0 ? ", " : "").append(literal(dependencies.get(i)));
+        }
+        code.append("},\n")
+                .append("                dependencies -> {\n")
+                .append("                    ").append(typeName).append(" bean = new ").append(typeName).append("();\n");
+        int index = 0;
+        for (InjectionPoint point : component.injectionPoints) {
+            if (point.resolvedBeanName == null) {
+                continue;
+            }
+            String value = "(" + point.type + ") dependencies[" + index++ + "]";
+            if (point.field) {
+                code.append("                    bean.").append(point.memberName).append(" = ").append(value).append(";\n");
+            } else {
+                code.append("                    bean.").append(point.memberName).append("(").append(value).append(");\n");
+            }
+        }
+        code.append("                    return bean;\n")
+                .append("                }));\n");
+    }
+
+    private static String literal(String value) {
+        return "\"" + value.replace("\\", "\\\\").replace("\"", "\\\"") + "\"";
+    }
+
+    private void writeServiceFile() {
+        try {
+            FileObject file = processingEnv.getFiler().createResource(
+                    StandardLocation.CLASS_OUTPUT, "", BeanRegistrarLoader.REGISTRARS_RESOURCE_LOCATION);
+            try (Writer writer = new OutputStreamWriter(file.openOutputStream(), StandardCharsets.UTF_8)) {
+                for (String registrar : registrars) {
+                    writer.write(registrar + "\n");
+                }
+            }
+        } catch (IOException e) {
+            processingEnv.getMessager().printMessage(Diagnostic.Kind.ERROR,
+                    "Unable to write " + BeanRegistrarLoader.REGISTRARS_RESOURCE_LOCATION + ": " + e);
+        }
+    }
+
+    private void error(Element element, String message) {
+        processingEnv.getMessager().printMessage(Diagnostic.Kind.ERROR, message, element);
+    }
+
+    private void warning(Element element, String message) {
+        processingEnv.getMessager().printMessage(Diagnostic.Kind.WARNING, message, element);
+    }
+
+    /**
+     * 编译期收集到的组件
+     */
+    private final class ComponentModel {
+
+        private final TypeElement type;
+
+        private final String beanName;
+
+        private final String packageName;
+
+        private final List<InjectionPoint> injectionPoints = new ArrayList<>();
+
+        /**
+         * 为 true 时只生成不带实例化回调的 BeanDefinition，依赖由运行时反射注入
+         */
+        private boolean runtimeInjection;
+
+        private ComponentModel(TypeElement type, String beanName, String packageName) {
+            this.type = type;
+            this.beanName = beanName;
+            this.packageName = packageName;
+        }
+
+        private void fallBackToRuntimeInjection(Element element, String reason) {
+            if (runtimeInjection) {
+                return;
+            }
+            runtimeInjection = true;
+            warning(element, reason + "; component '" + beanName + "' falls back to runtime injection");
+        }
+
+        /**
+         * @return 已解析的依赖 Bean 名称，顺序与注入点一致（即生成代码中 dependencies 数组的顺序）；退回运行时注入的组件没有编译期依赖
+         */
+        private List<String> dependencies() {
+            List<String> dependencies = new ArrayList<>();
+            if (runtimeInjection) {
+                return dependencies;
+            }
+            for (InjectionPoint point : injectionPoints) {
+                if (point.resolvedBeanName != null) {
+                    dependencies.add(point.resolvedBeanName);
+                }
+            }
+            return dependencies;
+        }
+    }
+
+    /**
+     * 一个注入点（字段或 setter 方法）
+     */
+    private static final class InjectionPoint {
+
+        private final boolean field;
+
+        private final String memberName;
+
+        /**
+         * 擦除后的依赖类型
+         */
+        private final TypeMirror type;
+
+        private final String dependencyName;
+
+        private final boolean required;
+
+        private String resolvedBeanName;
+
+        private InjectionPoint(boolean field, String memberName, TypeMirror type, String dependencyName, boolean required) {
+            this.field = field;
+            this.memberName = memberName;
+            this.type = type;
+            this.dependencyName = dependencyName;
+            this.required = required;
+        }
+    }
+}
@@ -0,0 +1,56 @@
+package com.lj.framwork.context.aot;
+
+import com.lj.framwork.beans.BeansException;
+import com.lj.framwork.beans.factory.support.DefaultListableBeanFactory;
+
+import java.util.ServiceConfigurationError;
+import java.util.ServiceLoader;
+
+/**
+ * @ClassName BeanRegistrarLoader
+ * @Description 加载编译期生成的 Bean 注册器。
+ * 生成器把所有注册器写入 {@value #REGISTRARS_RESOURCE_LOCATION}，这里通过 ServiceLoader 逐个实例化并注册，
+ * 启动时不扫描类路径，也不读取任何类的反射元数据。
+ * @Author Dark Chocolate 2069057986@qq.com
+ * @Date 2026/2/3 9:45
+ * @Version JDK 17
+ */
+public final class BeanRegistrarLoader {
+
+    /**
+     * 生成的注册器清单（ServiceLoader 格式）
+     */
+    public static final String REGISTRARS_RESOURCE_LOCATION = "META-INF/services/com.lj.framwork.context.aot.BeanRegistrar";
+
+    private BeanRegistrarLoader() {
+    }
+
+    /**
+     * 用类路径中所有生成的注册器注册 Bean。
+     * @param beanFactory Bean 工厂
+     * @param classLoader 类加载器
+     * @return 注册的 BeanDefinition 总数
+     * @throws BeansException 注册器无法加载时抛出
+     */
+    public static int registerBeans(DefaultListableBeanFactory beanFactory, ClassLoader classLoader) throws BeansException {
+        int count = 0;
+        try {
+            for (BeanRegistrar registrar : ServiceLoader.load(BeanRegistrar.class, classLoader)) {
+                count += registrar.registerBeans(beanFactory);
+            }
+        } catch (ServiceConfigurationError e) {
+            throw new BeansException("Failed to load generated bean registrars", e);
+        }
+        return count;
+    }
+
+    /**
+     * 使用当前线程的上下文类加载器注册 Bean。
+     * @param beanFactory Bean 工厂
+     * @return 注册的 BeanDefinition 总数
+     */
+    public static int registerBeans(DefaultListableBeanFactory beanFactory) throws BeansException {
+        ClassLoader classLoader = Thread.currentThread().getContextClassLoader();
+        return registerBeans(beanFactory, classLoader != null ? classLoader : BeanRegistrarLoader.class.getClassLoader());
+    }
+}
@@ -0,0 +1,38 @@
+package com.lj.framwork.context.event;
+
+import com.lj.framwork.context.ApplicationEvent;
+import com.lj.framwork.context.ApplicationListener;
+
+/**
+ * @ClassName ApplicationEventMulticaster
+ * @Description 事件广播器：管理监听器，并把事件分发给匹配的监听器
+ * @Author Dark Chocolate 2069057986@qq.com
+ * @Date 2026/1/31 9:20
+ * @Version JDK 17
+ */
+public interface ApplicationEventMulticaster {
+
+    /**
+     * 添加监听器，同一个监听器实例只会添加一次
+     * @param listener 监听器
+     */
+    void addApplicationListener(ApplicationListener<?> listener);
+
+    /**
+     * 移除监听器
+     * @param listener 监听器
+     */
+    void removeApplicationListener(ApplicationListener<?> listener);
+
+    /**
+     * 移除所有监听器
+     */
+    void removeAllListeners();
+
+    /**
+     * 分发事件
+     * @param event 事件
+     */
+    void multicastEvent(ApplicationEvent event);
+
+}
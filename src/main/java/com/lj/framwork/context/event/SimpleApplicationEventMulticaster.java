@@ -0,0 +1,200 @@
+package com.lj.framwork.context.event;
+
+import com.lj.framwork.context.ApplicationEvent;
+import com.lj.framwork.context.ApplicationListener;
+
+import java.lang.reflect.ParameterizedType;
+import java.lang.reflect.Type;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.Executor;
+
+/**
+ * @ClassName SimpleApplicationEventMulticaster
+ * @Description 事件广播器的默认实现。
+ * 1. 监听器的事件类型在添加时解析一次（读取 ApplicationListener 的泛型参数）。
+ * 2. 每种事件类型第一次发布时筛选出匹配的监听器，缓存为数组；之后发布同类型事件只是一次哈希查找加数组遍历，
+ *    不做任何反射类型匹配，也不为每个监听器分配对象。
+ * 3. 监听器集合与缓存放在同一个不可变快照里，添加或移除监听器时整体替换快照，缓存随之失效；
+ *    发布方只读取 volatile 快照，不加锁。
+ * 4. 设置了 Executor 时异步分发：每个事件只提交一个任务，在任务中依次通知所有监听器。
+ * @Author Dark Chocolate 2069057986@qq.com
+ * @Date 2026/1/31 9:30
+ * @Version JDK 17
+ */
+public class SimpleApplicationEventMulticaster implements ApplicationEventMulticaster {
+
+    private static final ApplicationListener<?>[] NO_LISTENERS = new ApplicationListener<?>[0];
+
+    private volatile ListenerRegistry registry = new ListenerRegistry(NO_LISTENERS, new Class<?>[0]);
+
+    /**
+     * 异步分发使用的执行器，为 null 时在发布线程中同步分发
+     */
+    private volatile Executor taskExecutor;
+
+    public SimpleApplicationEventMulticaster() {
+    }
+
+    public SimpleApplicationEventMulticaster(Executor taskExecutor) {
+        this.taskExecutor = taskExecutor;
+    }
+
+    @Override
+    public synchronized void addApplicationListener(ApplicationListener<?> listener) {
+        ListenerRegistry current = this.registry;
+        for (ApplicationListener<?> existing : current.listeners) {
+            if (existing == listener) {
+                return;
+            }
+        }
+        int size = current.listeners.length;
+        ApplicationListener<?>[] listeners = Arrays.copyOf(current.listeners, size + 1);
+        Class<?>[] eventTypes = Arrays.copyOf(current.eventTypes, size + 1);
+        listeners[size] = listener;
+        eventTypes[size] = resolveEventType(listener.getClass());
+        this.registry = new ListenerRegistry(listeners, eventTypes);
+    }
+
+    @Override
+    public synchronized void removeApplicationListener(ApplicationListener<?> listener) {
+        ListenerRegistry current = this.registry;
+        List<ApplicationListener<?>> listeners = new ArrayList<>(current.listeners.length);
+        List<Class<?>> eventTypes = new ArrayList<>(current.listeners.length);
+        for (int i = 0; i < current.listeners.length; i++) {
+            if (current.listeners[i] != listener) {
+                listeners.add(current.listeners[i]);
+                eventTypes.add(current.eventTypes[i]);
+            }
+        }
+        if (listeners.size() != current.listeners.length) {
+            this.registry = new ListenerRegistry(listeners.toArray(NO_LISTENERS), eventTypes.toArray(new Class<?>[0]));
+        }
+    }
+
+    @Override
+    public synchronized void removeAllListeners() {
+        this.registry = new ListenerRegistry(NO_LISTENERS, new Class<?>[0]);
+    }
+
+    @Override
+    public void multicastEvent(ApplicationEvent event) {
+        ApplicationListener<?>[] listeners = getApplicationListeners(event.getClass());
+        if (listeners.length == 0) {
+            return;
+        }
+        Executor executor = this.taskExecutor;
+        if (executor == null) {
+            invokeListeners(listeners, event);
+        } else {
+            executor.execute(() -> invokeListeners(listeners, event));
+        }
+    }
+
+    /**
+     * 获取监听指定事件类型的监听器（缓存的数组，调用方不得修改）
+     * @param eventType 事件类型
+     * @return 监听器数组
+     */
+    public ApplicationListener<?>[] getApplicationListeners(Class<?> eventType) {
+        ListenerRegistry current = this.registry;
+        ApplicationListener<?>[] listeners = current.cache.get(eventType);
+        if (listeners == null) {
+            listeners = current.retrieve(eventType);
+            current.cache.put(eventType, listeners);
+        }
+        return listeners;
+    }
+
+    @SuppressWarnings({"rawtypes", "unchecked"})
+    private static void invokeListeners(ApplicationListener<?>[] listeners, ApplicationEvent event) {
+        for (ApplicationListener listener : listeners) {
+            listener.onApplicationEvent(event);
+        }
+    }
+
+    /**
+     * 解析监听器声明的事件类型：沿类层次查找 ApplicationListener&lt;E&gt; 的实际类型参数。
+     * 无法解析（如 lambda 或原始类型）时按 ApplicationEvent 处理，即接收所有事件。
+     */
+    static Class<?> resolveEventType(Class<?> listenerClass) {
+        for (Class<?> clazz = listenerClass; clazz != null && clazz != Object.class; clazz = clazz.getSuperclass()) {
+            Class<?> eventType = resolveFromInterfaces(clazz.getGenericInterfaces());
+            if (eventType != null) {
+                return eventType;
+            }
+        }
+        return ApplicationEvent.class;
+    }
+
+    private static Class<?> resolveFromInterfaces(Type[] interfaces) {
+        for (Type type : interfaces) {
+            if (type instanceof ParameterizedType) {
+                ParameterizedType parameterized = (ParameterizedType) type;
+                if (parameterized.getRawType() == ApplicationListener.class) {
+                    Type argument = parameterized.getActualTypeArguments()[0];
+                    if (argument instanceof Class) {
+                        return (Class<?>) argument;
+                    }
+                    if (argument instanceof ParameterizedType) {
+                        return (Class<?>) ((ParameterizedType) argument).getRawType();
+                    }
+                    return null;
+                }
+                type = parameterized.getRawType();
+            }
+            if (type instanceof Class) {
+                Class<?> eventType = resolveFromInterfaces(((Class<?>) type).getGenericInterfaces());
+                if (eventType != null) {
+                    return eventType;
+                }
+            }
+        }
+        return null;
+    }
+
+    public Executor getTaskExecutor() {
+        return taskExecutor;
+    }
+
+    /**
+     * 设置异步分发的执行器，传入 null 恢复同步分发
+     * @param taskExecutor 执行器
+     */
+    public void setTaskExecutor(Executor taskExecutor) {
+        this.taskExecutor = taskExecutor;
+    }
+
+    /**
+     * 监听器集合的不可变快照，以及基于它计算出的“事件类型 -> 监听器数组”缓存
+     */
+    private static final class ListenerRegistry {
+
+        private final ApplicationListener<?>[] listeners;
+
+        /**
+         * 与 listeners 一一对应的事件类型
+         */
+        private final Class<?>[] eventTypes;
+
+        private final Map<Class<?>, ApplicationListener<?>[]> cache = new ConcurrentHashMap<>();
+
+        private ListenerRegistry(ApplicationListener<?>[] listeners, Class<?>[] eventTypes) {
+            this.listeners = listeners;
+            this.eventTypes = eventTypes;
+        }
+
+        private ApplicationListener<?>[] retrieve(Class<?> eventType) {
+            List<ApplicationListener<?>> matches = new ArrayList<>();
+            for (int i = 0; i < listeners.length; i++) {
+                if (eventTypes[i].isAssignableFrom(eventType)) {
+                    matches.add(listeners[i]);
+                }
+            }
+            return matches.isEmpty() ? NO_LISTENERS : matches.toArray(NO_LISTENERS);
+        }
+    }
+}
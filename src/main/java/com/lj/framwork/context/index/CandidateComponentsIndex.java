@@ -0,0 +1,57 @@
+package com.lj.framwork.context.index;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Properties;
+
+/**
+ * @ClassName CandidateComponentsIndex
+ * @Description 候选组件索引。
+ * 由一个或多个 META-INF/lj.components 文件合并而来，
+ * 按注解类型（stereotype）分组保存所有候选类名，供扫描器按包名过滤。
+ * @Author Dark Chocolate 2069057986@qq.com
+ * @Date 2026/1/23 14:48
+ * @Version JDK 17
+ */
+public class CandidateComponentsIndex {
+
+    /**
+     * 注解全限定名 -> 标注了该注解的类名列表
+     */
+    private final Map<String, List<String>> index = new HashMap<>();
+
+    CandidateComponentsIndex(List<Properties> content) {
+        for (Properties entries : content) {
+            for (Map.Entry<Object, Object> entry : entries.entrySet()) {
+                String type = (String) entry.getKey();
+                for (String stereotype : ((String) entry.getValue()).split(",")) {
+                    index.computeIfAbsent(stereotype.trim(), k -> new ArrayList<>()).add(type);
+                }
+            }
+        }
+    }
+
+    /**
+     * 返回指定包（含子包）下标注了指定注解的候选类名。
+     * @param basePackage 基础包名
+     * @param stereotype  注解全限定名
+     * @return 候选类名列表
+     */
+    public List<String> getCandidateTypes(String basePackage, String stereotype) {
+        List<String> candidates = index.get(stereotype);
+        if (candidates == null) {
+            return Collections.emptyList();
+        }
+        String prefix = basePackage.isEmpty() ? "" : basePackage + ".";
+        List<String> result = new ArrayList<>();
+        for (String candidate : candidates) {
+            if (candidate.startsWith(prefix)) {
+                result.add(candidate);
+            }
+        }
+        return result;
+    }
+}
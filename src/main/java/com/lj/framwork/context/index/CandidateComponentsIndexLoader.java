@@ -0,0 +1,75 @@
+package com.lj.framwork.context.index;
+
+import com.lj.framwork.beans.BeansException;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.InputStreamReader;
+import java.io.Reader;
+import java.net.URL;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.Enumeration;
+import java.util.List;
+import java.util.Map;
+import java.util.Properties;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * @ClassName CandidateComponentsIndexLoader
+ * @Description 候选组件索引加载器。
+ * 从类加载器中读取所有的 {@value #COMPONENTS_RESOURCE_LOCATION} 文件并合并为 {@link CandidateComponentsIndex}。
+ * 结果按类加载器缓存；没有任何索引文件时返回 null，调用方应回退到类路径扫描。
+ * @Author Dark Chocolate 2069057986@qq.com
+ * @Date 2026/1/23 14:40
+ * @Version JDK 17
+ */
+public final class CandidateComponentsIndexLoader {
+
+    /**
+     * 索引文件在类路径中的位置
+     */
+    public static final String COMPONENTS_RESOURCE_LOCATION = "META-INF/lj.components";
+
+    /**
+     * 类加载器 -> 索引。ConcurrentHashMap 不允许 null 值，所以“没有索引”用 NO_INDEX 占位。
+     */
+    private static final Map<ClassLoader, Object> cache = new ConcurrentHashMap<>();
+
+    private static final Object NO_INDEX = new Object();
+
+    private CandidateComponentsIndexLoader() {
+    }
+
+    /**
+     * 加载指定类加载器下的候选组件索引。
+     * @param classLoader 类加载器（为 null 时使用当前类的类加载器）
+     * @return 索引；类路径中没有索引文件时返回 null
+     */
+    public static CandidateComponentsIndex loadIndex(ClassLoader classLoader) {
+        ClassLoader classLoaderToUse = classLoader != null ? classLoader : CandidateComponentsIndexLoader.class.getClassLoader();
+        Object index = cache.computeIfAbsent(classLoaderToUse, CandidateComponentsIndexLoader::doLoadIndex);
+        return index != NO_INDEX ? (CandidateComponentsIndex) index : null;
+    }
+
+    private static Object doLoadIndex(ClassLoader classLoader) {
+        try {
+            Enumeration<URL> urls = classLoader.getResources(COMPONENTS_RESOURCE_LOCATION);
+            if (!urls.hasMoreElements()) {
+                return NO_INDEX;
+            }
+            List<Properties> result = new ArrayList<>();
+            while (urls.hasMoreElements()) {
+                URL url = urls.nextElement();
+                Properties properties = new Properties();
+                try (InputStream in = url.openStream(); Reader reader = new InputStreamReader(in, StandardCharsets.UTF_8)) {
+                    properties.load(reader);
+                }
+                result.add(properties);
+            }
+            return new CandidateComponentsIndex(result);
+        } catch (IOException e) {
+            throw new BeansException("Unable to load indexes from location [" + COMPONENTS_RESOURCE_LOCATION + "]", e);
+        }
+    }
+}
@@ -0,0 +1,79 @@
+package com.lj.framwork.context.index;
+
+import com.lj.framwork.stereotype.Component;
+
+import javax.annotation.processing.AbstractProcessor;
+import javax.annotation.processing.RoundEnvironment;
+import javax.annotation.processing.SupportedAnnotationTypes;
+import javax.lang.model.SourceVersion;
+import javax.lang.model.element.Element;
+import javax.lang.model.element.ElementKind;
+import javax.lang.model.element.Modifier;
+import javax.lang.model.element.TypeElement;
+import javax.tools.Diagnostic;
+import javax.tools.FileObject;
+import javax.tools.StandardLocation;
+import java.io.IOException;
+import java.io.OutputStreamWriter;
+import java.io.Writer;
+import java.nio.charset.StandardCharsets;
+import java.util.Set;
+import java.util.TreeSet;
+
+/**
+ * @ClassName CandidateComponentsIndexer
+ * @Description 候选组件索引生成器（注解处理器）。
+ * 在编译期收集所有标注了 {@link Component} 的具体类，写入
+ * {@value CandidateComponentsIndexLoader#COMPONENTS_RESOURCE_LOCATION}。
+ * 文件格式与 properties 相同：每行 “类的二进制名=注解全限定名”。
+ * 运行时 {@link CandidateComponentsIndexLoader} 读取该文件，扫描阶段就不需要遍历类路径。
+ * 通过 META-INF/services/javax.annotation.processing.Processor 注册，
+ * 依赖本框架的工程在编译时会自动执行。
+ * @Author Dark Chocolate 2069057986@qq.com
+ * @Date 2026/1/23 14:20
+ * @Version JDK 17
+ */
+@SupportedAnnotationTypes("com.lj.framwork.stereotype.Component")
+public class CandidateComponentsIndexer extends AbstractProcessor {
+
+    /**
+     * 跨多轮处理收集到的组件类名，排序保证输出稳定
+     */
+    private final Set<String> components = new TreeSet<>();
+
+    @Override
+    public SourceVersion getSupportedSourceVersion() {
+        return SourceVersion.latestSupported();
+    }
+
+    @Override
+    public boolean process(Set<? extends TypeElement> annotations, RoundEnvironment roundEnv) {
+        for (Element element : roundEnv.getElementsAnnotatedWith(Component.class)) {
+            if (element.getKind() != ElementKind.CLASS || element.getModifiers().contains(Modifier.ABSTRACT)) {
+                continue;
+            }
+            components.add(processingEnv.getElementUtils().getBinaryName((TypeElement) element).toString());
+        }
+
+        // 所有轮次结束后一次性写出索引
+        if (roundEnv.processingOver() && !components.isEmpty()) {
+            writeIndex();
+        }
+        return false;
+    }
+
+    private void writeIndex() {
+        try {
+            FileObject file = processingEnv.getFiler().createResource(
+                    StandardLocation.CLASS_OUTPUT, "", CandidateComponentsIndexLoader.COMPONENTS_RESOURCE_LOCATION);
+            try (Writer writer = new OutputStreamWriter(file.openOutputStream(), StandardCharsets.UTF_8)) {
+                for (String component : components) {
+                    writer.write(component + "=" + Component.class.getName() + "\n");
+                }
+            }
+        } catch (IOException e) {
+            processingEnv.getMessager().printMessage(Diagnostic.Kind.ERROR,
+                    "Unable to write " + CandidateComponentsIndexLoader.COMPONENTS_RESOURCE_LOCATION + ": " + e);
+        }
+    }
+}
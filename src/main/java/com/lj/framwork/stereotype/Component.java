@@ -0,0 +1,29 @@
+package com.lj.framwork.stereotype;
+
+import java.lang.annotation.Documented;
+import java.lang.annotation.ElementType;
+import java.lang.annotation.Retention;
+import java.lang.annotation.RetentionPolicy;
+import java.lang.annotation.Target;
+
+/**
+ * @ClassName Component
+ * @Description 组件注解。
+ * 标注了该注解的类会被 ClassPathBeanDefinitionScanner 识别为候选组件，并自动注册为 BeanDefinition。
+ * 编译期的 CandidateComponentsIndexer 会把这些类写入 META-INF/lj.components 索引，
+ * 运行时直接读取索引即可，无需遍历 jar 包。
+ * @Author Dark Chocolate 2069057986@qq.com
+ * @Date 2026/1/23 14:05
+ * @Version JDK 17
+ */
+@Target(ElementType.TYPE)
+@Retention(RetentionPolicy.RUNTIME)
+@Documented
+public @interface Component {
+
+    /**
+     * Bean 名称。为空时使用首字母小写的简单类名。
+     */
+    String value() default "";
+
+}
@@ -0,0 +1,90 @@
+package com.lj.framwork.test;
+
+import com.lj.framwork.aop.DefaultPointcutAdvisor;
+import com.lj.framwork.aop.MethodBeforeAdvice;
+import com.lj.framwork.aop.MethodInterceptor;
+import com.lj.framwork.beans.factory.PropertyValue;
+import com.lj.framwork.beans.factory.PropertyValues;
+import com.lj.framwork.beans.factory.config.BeanDefinition;
+import com.lj.framwork.beans.factory.config.BeanReference;
+import com.lj.framwork.beans.factory.support.DefaultListableBeanFactory;
+import com.lj.framwork.context.ApplicationListener;
+import com.lj.framwork.test.beans.UserDao;
+import com.lj.framwork.test.beans.UserService;
+import com.lj.framwork.test.event.OrderListener;
+import com.lj.framwork.test.event.OrderPlacedEvent;
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNotSame;
+import static org.junit.jupiter.api.Assertions.assertSame;
+
+/**
+ * @ClassName AopTest
+ * @Description 测试方法拦截：只有切点匹配的方法执行通知链，其余方法与 Bean 不受影响
+ * @Author Dark Chocolate
+ * @Date 2026/1/29 11:05
+ * @Version JDK 17
+ */
+public class AopTest {
+
+    @Test
+    public void adviseMatchedMethodsOnly() {
+        DefaultListableBeanFactory beanFactory = new DefaultListableBeanFactory();
+
+        AtomicInteger beforeCount = new AtomicInteger();
+        MethodBeforeAdvice countingAdvice = (method, args, target) -> beforeCount.incrementAndGet();
+        MethodInterceptor bracketInterceptor = invocation -> "[" + invocation.proceed() + "]";
+        beanFactory.addAdvisor(new DefaultPointcutAdvisor(
+                (method, targetClass) -> UserDao.class.equals(targetClass) && "queryUserName".equals(method.getName()),
+                countingAdvice));
+        beanFactory.addAdvisor(new DefaultPointcutAdvisor(
+                (method, targetClass) -> "queryUserName".equals(method.getName()),
+                bracketInterceptor));
+
+        beanFactory.registerBeanDefinition("userDao", new BeanDefinition(UserDao.class));
+        PropertyValues propertyValues = new PropertyValues();
+        propertyValues.addPropertyValue(new PropertyValue("uId", "10001"));
+        propertyValues.addPropertyValue(new PropertyValue("userDao", new BeanReference("userDao")));
+        beanFactory.registerBeanDefinition("userService", new BeanDefinition(UserService.class, propertyValues));
+
+        UserService userService = (UserService) beanFactory.getBean("userService");
+        UserDao userDao = (UserDao) beanFactory.getBean("userDao");
+        assertSame(userDao, userService.getUserDao());
+
+        assertEquals("[Tom]", userDao.queryUserName("10001"));
+        assertEquals("[Jack]", userDao.queryUserName("10003"));
+        assertEquals(2, beforeCount.get());
+
+        // 未匹配的方法不经过通知链
+        assertEquals("10001", userService.getuId());
+        userDao.toString();
+        assertEquals(2, beforeCount.get());
+    }
+
+    @Test
+    @SuppressWarnings("unchecked")
+    public void adviseBeanImplementingGenericInterface() {
+        DefaultListableBeanFactory beanFactory = new DefaultListableBeanFactory();
+        AtomicInteger beforeCount = new AtomicInteger();
+        MethodBeforeAdvice countingAdvice = (method, args, target) -> beforeCount.incrementAndGet();
+        beanFactory.addAdvisor(new DefaultPointcutAdvisor(
+                (method, targetClass) -> "onApplicationEvent".equals(method.getName()), countingAdvice));
+        beanFactory.registerBeanDefinition("orderListener", new BeanDefinition(OrderListener.class));
+
+        // OrderListener 实现了泛型接口，类中有桥接方法 onApplicationEvent(ApplicationEvent)
+        OrderListener orderListener = (OrderListener) beanFactory.getBean("orderListener");
+        assertNotSame(OrderListener.class, orderListener.getClass());
+
+        orderListener.onApplicationEvent(new OrderPlacedEvent(this, "order-1"));
+        // 经由泛型接口（桥接方法）调用时通知同样只执行一次
+        ((ApplicationListener<OrderPlacedEvent>) orderListener).onApplicationEvent(new OrderPlacedEvent(this, "order-2"));
+        beanFactory.publishEvent(new OrderPlacedEvent(this, "order-3"));
+
+        assertEquals(List.of("order-1", "order-2", "order-3"), orderListener.getOrderIds());
+        assertEquals(3, beforeCount.get());
+    }
+}
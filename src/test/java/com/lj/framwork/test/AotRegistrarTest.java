@@ -0,0 +1,68 @@
+package com.lj.framwork.test;
+
+import com.lj.framwork.aop.DefaultPointcutAdvisor;
+import com.lj.framwork.aop.MethodInterceptor;
+import com.lj.framwork.beans.factory.support.DefaultListableBeanFactory;
+import com.lj.framwork.context.aot.BeanRegistrarLoader;
+import com.lj.framwork.test.aot.InventoryService;
+import com.lj.framwork.test.scan.OrderDao;
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNotNull;
+import static org.junit.jupiter.api.Assertions.assertNotSame;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/**
+ * @ClassName AotRegistrarTest
+ * @Description 测试编译期生成的 Bean 注册器：不经反射完成实例化与依赖注入
+ * @Author Dark Chocolate
+ * @Date 2026/2/3 11:30
+ * @Version JDK 17
+ */
+public class AotRegistrarTest {
+
+    @Test
+    public void registerGeneratedBeans() {
+        DefaultListableBeanFactory beanFactory = new DefaultListableBeanFactory();
+        // test.aot 与 test.scan 两个包各生成一个注册器
+        int count = BeanRegistrarLoader.registerBeans(beanFactory);
+        assertTrue(count >= 4);
+
+        assertNotNull(beanFactory.getBeanDefinition("inventoryService").getInstantiator());
+        assertArrayEquals(new String[]{"orderDao", "inventoryDao"},
+                beanFactory.getBeanDefinition("inventoryService").getDependsOn());
+
+        InventoryService inventoryService = (InventoryService) beanFactory.getBean("inventoryService");
+        // 生成的代码直接 new 出原始类，不生成 CGLIB 子类
+        assertSame(InventoryService.class, inventoryService.getClass());
+        assertSame(beanFactory.getBean("orderDao"), inventoryService.getOrderDao());
+        assertSame(beanFactory.getBean("inventoryDao"), inventoryService.getInventoryDao());
+        assertEquals("order-sku1:4", inventoryService.describe("sku1"));
+        assertSame(OrderDao.class, beanFactory.getBean("orderDao").getClass());
+    }
+
+    @Test
+    public void advisedBeanBypassesGeneratedInstantiator() {
+        DefaultListableBeanFactory beanFactory = new DefaultListableBeanFactory();
+        MethodInterceptor bracketInterceptor = invocation -> "[" + invocation.proceed() + "]";
+        beanFactory.addAdvisor(new DefaultPointcutAdvisor(
+                (method, targetClass) -> InventoryService.class.equals(targetClass) && "describe".equals(method.getName()),
+                bracketInterceptor));
+        BeanRegistrarLoader.registerBeans(beanFactory);
+        assertNotNull(beanFactory.getBeanDefinition("inventoryService").getInstantiator());
+
+        // 生成的代码只能 new 出原始类，有通知器匹配时改走 CGLIB 子类与运行时注入，通知不会被跳过
+        InventoryService inventoryService = (InventoryService) beanFactory.getBean("inventoryService");
+        assertNotSame(InventoryService.class, inventoryService.getClass());
+        assertSame(beanFactory.getBean("orderDao"), inventoryService.getOrderDao());
+        assertSame(beanFactory.getBean("inventoryDao"), inventoryService.getInventoryDao());
+        assertEquals("[order-sku1:4]", inventoryService.describe("sku1"));
+
+        // 没有通知器匹配的生成 Bean 仍然使用实例化回调
+        assertSame(OrderDao.class, beanFactory.getBean("orderDao").getClass());
+    }
+
+}
@@ -0,0 +1,86 @@
+package com.lj.framwork.test;
+
+import com.lj.framwork.context.ApplicationEvent;
+import com.lj.framwork.context.ApplicationListener;
+import com.lj.framwork.context.event.SimpleApplicationEventMulticaster;
+import com.lj.framwork.beans.factory.config.BeanDefinition;
+import com.lj.framwork.beans.factory.support.DefaultListableBeanFactory;
+import com.lj.framwork.test.event.OrderListener;
+import com.lj.framwork.test.event.OrderPlacedEvent;
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNotSame;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/**
+ * @ClassName ApplicationEventTest
+ * @Description 测试事件发布：监听器单例自动注册、按事件类型分发、监听器变化后缓存失效、异步分发
+ * @Author Dark Chocolate
+ * @Date 2026/1/31 10:15
+ * @Version JDK 17
+ */
+public class ApplicationEventTest {
+
+    @Test
+    public void publishToListenerBeans() {
+        DefaultListableBeanFactory beanFactory = new DefaultListableBeanFactory();
+        beanFactory.registerBeanDefinition("orderListener", new BeanDefinition(OrderListener.class));
+        OrderListener orderListener = (OrderListener) beanFactory.getBean("orderListener");
+        // 没有方法需要拦截时直接反射实例化，不生成 CGLIB 子类
+        assertSame(OrderListener.class, orderListener.getClass());
+
+        beanFactory.publishEvent(new OrderPlacedEvent(this, "A-1"));
+        // 其它类型的事件不会分发给 OrderListener
+        beanFactory.publishEvent(new ApplicationEvent(this) {
+        });
+        assertEquals(List.of("A-1"), orderListener.getOrderIds());
+
+        // 新增监听器后缓存失效，下一次发布即可收到
+        AtomicInteger received = new AtomicInteger();
+        beanFactory.getApplicationEventMulticaster().addApplicationListener(
+                (ApplicationListener<ApplicationEvent>) event -> received.incrementAndGet());
+        beanFactory.publishEvent(new OrderPlacedEvent(this, "A-2"));
+        assertEquals(List.of("A-1", "A-2"), orderListener.getOrderIds());
+        assertEquals(1, received.get());
+
+        // 重新注册定义后，新的监听器实例替换旧实例
+        beanFactory.registerBeanDefinition("orderListener", new BeanDefinition(OrderListener.class));
+        OrderListener refreshed = (OrderListener) beanFactory.getBean("orderListener");
+        assertNotSame(orderListener, refreshed);
+        beanFactory.publishEvent(new OrderPlacedEvent(this, "A-3"));
+        assertEquals(List.of("A-1", "A-2"), orderListener.getOrderIds());
+        assertEquals(List.of("A-3"), refreshed.getOrderIds());
+    }
+
+    @Test
+    public void publishAsynchronously() throws InterruptedException {
+        ExecutorService executor = Executors.newSingleThreadExecutor();
+        try {
+            DefaultListableBeanFactory beanFactory = new DefaultListableBeanFactory();
+            beanFactory.registerBeanDefinition("orderListener", new BeanDefinition(OrderListener.class));
+            OrderListener orderListener = (OrderListener) beanFactory.getBean("orderListener");
+            // 替换广播器时已创建的监听器随之迁移
+            beanFactory.setApplicationEventMulticaster(new SimpleApplicationEventMulticaster(executor));
+            assertSame(orderListener, beanFactory.getBean("orderListener"));
+
+            for (int i = 0; i < 100; i++) {
+                beanFactory.publishEvent(new OrderPlacedEvent(this, "B-" + i));
+            }
+            executor.shutdown();
+            assertTrue(executor.awaitTermination(10, TimeUnit.SECONDS));
+            assertEquals(100, orderListener.getOrderIds().size());
+            assertEquals("B-99", orderListener.getOrderIds().get(99));
+            assertNotSame(Thread.currentThread(), orderListener.getLastThread());
+        } finally {
+            executor.shutdownNow();
+        }
+    }
+}
@@ -0,0 +1,65 @@
+package com.lj.framwork.test;
+
+import com.lj.framwork.beans.BeansException;
+import com.lj.framwork.beans.factory.config.BeanDefinition;
+import com.lj.framwork.beans.factory.support.DefaultListableBeanFactory;
+import com.lj.framwork.test.beans.AccountService;
+import com.lj.framwork.test.beans.Command;
+import com.lj.framwork.test.beans.UserDao;
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNotSame;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+/**
+ * @ClassName AutowiredInjectionTest
+ * @Description 测试 @Autowired 按类型注入字段与 setter
+ * @Author Dark Chocolate
+ * @Date 2026/1/30 10:30
+ * @Version JDK 17
+ */
+public class AutowiredInjectionTest {
+
+    @Test
+    public void autowireFieldsAndSettersByType() {
+        DefaultListableBeanFactory beanFactory = new DefaultListableBeanFactory();
+        beanFactory.registerBeanDefinition("userDao", new BeanDefinition(UserDao.class));
+        BeanDefinition commandDefinition = new BeanDefinition(Command.class);
+        commandDefinition.setScope(BeanDefinition.SCOPE_PROTOTYPE);
+        beanFactory.registerBeanDefinition("command", commandDefinition);
+        BeanDefinition accountDefinition = new BeanDefinition(AccountService.class);
+        accountDefinition.setScope(BeanDefinition.SCOPE_PROTOTYPE);
+        beanFactory.registerBeanDefinition("accountService", accountDefinition);
+
+        AccountService first = (AccountService) beanFactory.getBean("accountService");
+        AccountService second = (AccountService) beanFactory.getBean("accountService");
+        assertSame(beanFactory.getBean("userDao"), first.getUserDao());
+        assertSame(first.getUserDao(), second.getUserDao());
+        assertNotSame(first.getCommand(), second.getCommand());
+        assertEquals("executed Tom", first.describe("10001"));
+    }
+
+    @Test
+    public void resolveAmbiguityByNameAndRejectMissing() {
+        DefaultListableBeanFactory beanFactory = new DefaultListableBeanFactory();
+        beanFactory.registerBeanDefinition("accountService", new BeanDefinition(AccountService.class));
+        beanFactory.registerBeanDefinition("userDao", new BeanDefinition(UserDao.class));
+        beanFactory.registerBeanDefinition("backupDao", new BeanDefinition(UserDao.class));
+
+        // Command 尚未注册：必须的依赖找不到
+        assertThrows(BeansException.class, () -> beanFactory.getBean("accountService"));
+
+        beanFactory.registerBeanDefinition("command", new BeanDefinition(Command.class));
+        AccountService accountService = (AccountService) beanFactory.getBean("accountService");
+        // 两个 UserDao 候选，按字段名 userDao 选中
+        assertSame(beanFactory.getBean("userDao"), accountService.getUserDao());
+
+        // 自动注入同样记录依赖边：替换 userDao 的定义会重建 accountService
+        beanFactory.registerBeanDefinition("userDao", new BeanDefinition(UserDao.class));
+        AccountService refreshed = (AccountService) beanFactory.getBean("accountService");
+        assertNotSame(accountService, refreshed);
+        assertSame(beanFactory.getBean("userDao"), refreshed.getUserDao());
+    }
+}
@@ -0,0 +1,189 @@
+package com.lj.framwork.test;
+
+import com.lj.framwork.context.aot.BeanRegistrarGenerator;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import javax.tools.Diagnostic;
+import javax.tools.DiagnosticCollector;
+import javax.tools.JavaCompiler;
+import javax.tools.JavaFileObject;
+import javax.tools.StandardJavaFileManager;
+import javax.tools.ToolProvider;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.stream.Collectors;
+
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/**
+ * @ClassName BeanRegistrarGeneratorTest
+ * @Description 测试编译期注册器生成器的各个分支：默认关闭、无法处理的组件退回运行时并给出警告、循环依赖报编译错误
+ * @Author Dark Chocolate
+ * @Date 2026/2/4 15:20
+ * @Version JDK 17
+ */
+public class BeanRegistrarGeneratorTest {
+
+    private static final String REGISTRAR = "demo/GeneratedBeanRegistrar.java";
+
+    @TempDir
+    Path workDir;
+
+    @Test
+    public void disabledWithoutOption() throws IOException {
+        Compilation compilation = compile(false, Map.of(
+                "demo/Dao.java", "package demo; @com.lj.framwork.stereotype.Component public class Dao {}"));
+
+        assertTrue(compilation.success);
+        assertFalse(Files.exists(compilation.generatedDir.resolve(REGISTRAR)));
+    }
+
+    @Test
+    public void unreachableMemberFallsBackToRuntimeInjection() throws IOException {
+        Compilation compilation = compile(true, Map.of(
+                "demo/Dao.java", "package demo; @com.lj.framwork.stereotype.Component public class Dao {}",
+                "demo/Service.java", "package demo; @com.lj.framwork.stereotype.Component public class Service {"
+                        + " @com.lj.framwork.beans.factory.annotation.Autowired private Dao dao; }"));
+
+        assertTrue(compilation.success, compilation.errors().toString());
+        assertTrue(compilation.warningsContain("falls back to runtime injection"), compilation.warnings().toString());
+        String registrar = compilation.registrar();
+        assertTrue(registrar.contains("new com.lj.framwork.beans.factory.config.BeanDefinition(demo.Service.class));"), registrar);
+        assertTrue(registrar.contains("demo.Dao bean = new demo.Dao();"), registrar);
+    }
+
+    @Test
+    public void uninstantiableComponentIsSkipped() throws IOException {
+        Compilation compilation = compile(true, Map.of(
+                "demo/Dao.java", "package demo; @com.lj.framwork.stereotype.Component public class Dao {"
+                        + " public Dao(String url) {} }",
+                "demo/Holder.java", "package demo; public class Holder {"
+                        + " @com.lj.framwork.stereotype.Component class Inner {} }"));
+
+        assertTrue(compilation.success, compilation.errors().toString());
+        assertTrue(compilation.warningsContain("no non-private no-arg constructor"), compilation.warnings().toString());
+        assertTrue(compilation.warningsContain("private or inner (non-static) class"), compilation.warnings().toString());
+        assertFalse(Files.exists(compilation.generatedDir.resolve(REGISTRAR)));
+    }
+
+    @Test
+    public void missingDependencyFallsBackToRuntimeInjection() throws IOException {
+        // 依赖只在运行时注册（如 XML），编译期找不到候选
+        Compilation compilation = compile(true, Map.of(
+                "demo/Service.java", "package demo; @com.lj.framwork.stereotype.Component public class Service {"
+                        + " @com.lj.framwork.beans.factory.annotation.Autowired Runnable task; }"));
+
+        assertTrue(compilation.success, compilation.errors().toString());
+        assertTrue(compilation.warningsContain("No component of type [java.lang.Runnable]"), compilation.warnings().toString());
+        assertTrue(compilation.registrar().contains("BeanDefinition(demo.Service.class));"));
+    }
+
+    @Test
+    public void ambiguousDependencyFallsBackToRuntimeInjection() throws IOException {
+        Compilation compilation = compile(true, Map.of(
+                "demo/Dao.java", "package demo; public interface Dao {}",
+                "demo/MysqlDao.java", "package demo; @com.lj.framwork.stereotype.Component public class MysqlDao implements Dao {}",
+                "demo/RedisDao.java", "package demo; @com.lj.framwork.stereotype.Component public class RedisDao implements Dao {}",
+                "demo/Service.java", "package demo; @com.lj.framwork.stereotype.Component public class Service {"
+                        + " @com.lj.framwork.beans.factory.annotation.Autowired Dao dao; }",
+                "demo/NamedService.java", "package demo; @com.lj.framwork.stereotype.Component public class NamedService {"
+                        + " @com.lj.framwork.beans.factory.annotation.Autowired Dao redisDao; }"));
+
+        assertTrue(compilation.success, compilation.errors().toString());
+        assertTrue(compilation.warningsContain("Expected single component of type [demo.Dao] for dependency 'dao'"),
+                compilation.warnings().toString());
+        String registrar = compilation.registrar();
+        assertTrue(registrar.contains("BeanDefinition(demo.Service.class));"), registrar);
+        // 多个候选时按字段名匹配 Bean 名称，仍然生成实例化回调
+        assertTrue(registrar.contains("bean.redisDao = (demo.Dao) dependencies[0];"), registrar);
+    }
+
+    @Test
+    public void circularDependencyIsCompileError() throws IOException {
+        Compilation compilation = compile(true, Map.of(
+                "demo/A.java", "package demo; @com.lj.framwork.stereotype.Component public class A {"
+                        + " @com.lj.framwork.beans.factory.annotation.Autowired B b; }",
+                "demo/B.java", "package demo; @com.lj.framwork.stereotype.Component public class B {"
+                        + " @com.lj.framwork.beans.factory.annotation.Autowired A a; }"));
+
+        assertFalse(compilation.success);
+        assertTrue(compilation.errors().stream().anyMatch(message -> message.startsWith("Circular dependency between components:")),
+                compilation.errors().toString());
+    }
+
+    private Compilation compile(boolean enabled, Map<String, String> sources) throws IOException {
+        Path sourceDir = Files.createDirectories(workDir.resolve("src"));
+        Path classesDir = Files.createDirectories(workDir.resolve("classes"));
+        Path generatedDir = Files.createDirectories(workDir.resolve("generated"));
+        List<Path> files = new ArrayList<>();
+        for (Map.Entry<String, String> source : sources.entrySet()) {
+            Path file = sourceDir.resolve(source.getKey());
+            Files.createDirectories(file.getParent());
+            Files.writeString(file, source.getValue(), StandardCharsets.UTF_8);
+            files.add(file);
+        }
+
+        List<String> options = new ArrayList<>(List.of(
+                "-classpath", System.getProperty("java.class.path"),
+                "-d", classesDir.toString(),
+                "-s", generatedDir.toString(),
+                "-processor", BeanRegistrarGenerator.class.getName()));
+        if (enabled) {
+            options.add("-A" + BeanRegistrarGenerator.ENABLED_OPTION + "=true");
+        }
+
+        JavaCompiler compiler = ToolProvider.getSystemJavaCompiler();
+        DiagnosticCollector<JavaFileObject> diagnostics = new DiagnosticCollector<>();
+        try (StandardJavaFileManager fileManager = compiler.getStandardFileManager(diagnostics, null, StandardCharsets.UTF_8)) {
+            boolean success = compiler.getTask(null, fileManager, diagnostics, options, null,
+                    fileManager.getJavaFileObjectsFromPaths(files)).call();
+            return new Compilation(success, diagnostics.getDiagnostics(), generatedDir);
+        }
+    }
+
+    private static final class Compilation {
+
+        private final boolean success;
+
+        private final List<Diagnostic<? extends JavaFileObject>> diagnostics;
+
+        private final Path generatedDir;
+
+        private Compilation(boolean success, List<Diagnostic<? extends JavaFileObject>> diagnostics, Path generatedDir) {
+            this.success = success;
+            this.diagnostics = diagnostics;
+            this.generatedDir = generatedDir;
+        }
+
+        private List<String> messages(Diagnostic.Kind kind) {
+            return diagnostics.stream()
+                    .filter(diagnostic -> diagnostic.getKind() == kind)
+                    .map(diagnostic -> diagnostic.getMessage(null))
+                    .collect(Collectors.toList());
+        }
+
+        private List<String> errors() {
+            return messages(Diagnostic.Kind.ERROR);
+        }
+
+        private List<String> warnings() {
+            return messages(Diagnostic.Kind.WARNING);
+        }
+
+        private boolean warningsContain(String text) {
+            return warnings().stream().anyMatch(message -> message.contains(text));
+        }
+
+        private String registrar() throws IOException {
+            return Files.readString(generatedDir.resolve(REGISTRAR), StandardCharsets.UTF_8);
+        }
+    }
+
+}
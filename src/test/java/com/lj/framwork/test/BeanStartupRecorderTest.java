@@ -0,0 +1,92 @@
+package com.lj.framwork.test;
+
+import cn.hutool.json.JSONArray;
+import cn.hutool.json.JSONObject;
+import cn.hutool.json.JSONUtil;
+import com.lj.framwork.beans.BeansException;
+import com.lj.framwork.beans.factory.PropertyValue;
+import com.lj.framwork.beans.factory.PropertyValues;
+import com.lj.framwork.beans.factory.config.BeanDefinition;
+import com.lj.framwork.beans.factory.config.BeanReference;
+import com.lj.framwork.beans.factory.support.BeanStartupRecorder;
+import com.lj.framwork.beans.factory.support.DefaultListableBeanFactory;
+import com.lj.framwork.test.beans.UserDao;
+import com.lj.framwork.test.beans.UserService;
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertDoesNotThrow;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/**
+ * @ClassName BeanStartupRecorderTest
+ * @Description 测试启动关键路径记录：自身耗时、依赖边、关键路径以及 DOT/JSON 导出
+ * @Author Dark Chocolate
+ * @Date 2026/1/20 11:02
+ * @Version JDK 17
+ */
+public class BeanStartupRecorderTest {
+
+    @Test
+    public void recordCriticalPath() {
+        DefaultListableBeanFactory beanFactory = new DefaultListableBeanFactory();
+        BeanStartupRecorder recorder = new BeanStartupRecorder();
+        beanFactory.setStartupRecorder(recorder);
+
+        beanFactory.registerBeanDefinition("userDao", new BeanDefinition(UserDao.class));
+        PropertyValues propertyValues = new PropertyValues();
+        propertyValues.addPropertyValue(new PropertyValue("uId", "10001"));
+        propertyValues.addPropertyValue(new PropertyValue("userDao", new BeanReference("userDao")));
+        beanFactory.registerBeanDefinition("userService", new BeanDefinition(UserService.class, propertyValues));
+
+        beanFactory.getBean("userService");
+
+        // userService 在属性填充阶段递归创建了 userDao，两者构成唯一的依赖链
+        assertTrue(recorder.getDependencies("userService").contains("userDao"));
+        List<String> criticalPath = recorder.getCriticalPath();
+        assertEquals(List.of("userService", "userDao"), criticalPath);
+        assertEquals(recorder.getSelfNanos("userService") + recorder.getSelfNanos("userDao"), recorder.getCriticalPathNanos());
+
+        String dot = recorder.toDot();
+        assertTrue(dot.startsWith("digraph startup {\n"));
+        assertTrue(dot.contains("\"userDao\" [label=\"userDao\\n"));
+        assertTrue(dot.contains("\"userService\" [label=\"userService\\n"));
+        assertTrue(dot.contains("\"userService\" -> \"userDao\" [color=red]"));
+        assertTrue(dot.endsWith("}\n"));
+
+        JSONObject json = JSONUtil.parseObj(recorder.toJson());
+        JSONArray beans = json.getJSONArray("beans");
+        assertEquals(2, beans.size());
+        JSONObject userService = beans.getJSONObject(1);
+        assertEquals("userService", userService.getStr("name"));
+        assertEquals(recorder.getSelfNanos("userService"), userService.getLong("selfNanos"));
+        assertEquals(List.of("userDao"), userService.getJSONArray("dependencies").toList(String.class));
+        assertEquals(criticalPath, json.getJSONArray("criticalPath").toList(String.class));
+        assertEquals(recorder.getCriticalPathNanos(), json.getLong("criticalPathNanos"));
+    }
+
+    @Test
+    public void keepOriginalCreationFailure() {
+        DefaultListableBeanFactory beanFactory = new DefaultListableBeanFactory();
+        BeanStartupRecorder recorder = new BeanStartupRecorder();
+        beanFactory.setStartupRecorder(recorder);
+
+        PropertyValues propertyValues = new PropertyValues();
+        propertyValues.addPropertyValue(new PropertyValue("userDao", new BeanReference("missingDao")));
+        beanFactory.registerBeanDefinition("userService", new BeanDefinition(UserService.class, propertyValues));
+
+        // 创建失败时抛出的是原始异常，而不是记录器的异常
+        BeansException e = assertThrows(BeansException.class, () -> beanFactory.getBean("userService"));
+        Throwable root = e;
+        while (root.getCause() != null) {
+            root = root.getCause();
+        }
+        assertTrue(root.getMessage().contains("missingDao"));
+
+        // 不配对的结束记录被忽略
+        assertDoesNotThrow(() -> recorder.beanCreationFinished("unknown"));
+    }
+}
@@ -0,0 +1,139 @@
+package com.lj.framwork.test;
+
+import com.lj.framwork.beans.BeansException;
+import com.lj.framwork.beans.factory.PropertyValue;
+import com.lj.framwork.beans.factory.PropertyValues;
+import com.lj.framwork.beans.factory.config.BeanDefinition;
+import com.lj.framwork.beans.factory.config.BeanReference;
+import com.lj.framwork.beans.factory.config.CachePolicy;
+import com.lj.framwork.beans.factory.support.CachedBeanRegistry;
+import com.lj.framwork.beans.factory.support.DefaultListableBeanFactory;
+import com.lj.framwork.test.beans.AccountService;
+import com.lj.framwork.test.beans.Command;
+import com.lj.framwork.test.beans.LookupTable;
+import com.lj.framwork.test.beans.UserDao;
+import com.lj.framwork.test.beans.UserService;
+import org.junit.jupiter.api.Test;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.Callable;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNotSame;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+/**
+ * @ClassName CacheScopeTest
+ * @Description 测试缓存作用域：过期淘汰后透明重建，并发重建只创建一次，单例不能直接持有缓存作用域的 Bean
+ * @Author Dark Chocolate
+ * @Date 2026/2/1 10:40
+ * @Version JDK 17
+ */
+public class CacheScopeTest {
+
+    @Test
+    public void recreateAfterExpiry() {
+        DefaultListableBeanFactory beanFactory = new DefaultListableBeanFactory();
+        AtomicLong clock = new AtomicLong();
+        beanFactory.setCachedBeanRegistry(new CachedBeanRegistry(clock::get));
+        BeanDefinition ttlDefinition = new BeanDefinition(LookupTable.class);
+        ttlDefinition.setCachePolicy(CachePolicy.expireAfterWrite(Duration.ofMillis(300)));
+        beanFactory.registerBeanDefinition("ttlTable", ttlDefinition);
+        BeanDefinition idleDefinition = new BeanDefinition(LookupTable.class);
+        idleDefinition.setCachePolicy(CachePolicy.softValues().withMaxIdle(Duration.ofMillis(300)));
+        beanFactory.registerBeanDefinition("idleTable", idleDefinition);
+
+        Object ttlTable = beanFactory.getBean("ttlTable");
+        Object idleTable = beanFactory.getBean("idleTable");
+        assertSame(ttlTable, beanFactory.getBean("ttlTable"));
+        assertEquals(49, ((LookupTable) ttlTable).lookup(7));
+
+        // 持续访问的 Bean 不会因空闲而过期
+        for (int i = 0; i < 4; i++) {
+            clock.addAndGet(TimeUnit.MILLISECONDS.toNanos(100));
+            assertSame(idleTable, beanFactory.getBean("idleTable"));
+        }
+        assertNotSame(ttlTable, beanFactory.getBean("ttlTable"));
+
+        clock.addAndGet(TimeUnit.MILLISECONDS.toNanos(299));
+        assertSame(idleTable, beanFactory.getBean("idleTable"));
+        clock.addAndGet(TimeUnit.MILLISECONDS.toNanos(300));
+        assertNotSame(idleTable, beanFactory.getBean("idleTable"));
+        // 缓存作用域的 Bean 不会进入单例池
+        assertEquals(null, beanFactory.getSingleton("idleTable"));
+        assertEquals(4, beanFactory.getCachedBeanRegistry().getCreationCount());
+    }
+
+    @Test
+    public void rejectCacheScopedDependencyOfSingleton() {
+        DefaultListableBeanFactory beanFactory = new DefaultListableBeanFactory();
+        BeanDefinition daoDefinition = new BeanDefinition(UserDao.class);
+        daoDefinition.setScope(BeanDefinition.SCOPE_CACHE);
+        beanFactory.registerBeanDefinition("userDao", daoDefinition);
+
+        PropertyValues propertyValues = new PropertyValues();
+        propertyValues.addPropertyValue(new PropertyValue("userDao", new BeanReference("userDao")));
+        beanFactory.registerBeanDefinition("userService", new BeanDefinition(UserService.class, propertyValues));
+        // AccountService 通过 @Autowired 按类型注入 UserDao
+        beanFactory.registerBeanDefinition("accountService", new BeanDefinition(AccountService.class));
+        beanFactory.registerBeanDefinition("command", new BeanDefinition(Command.class));
+
+        // 单例持有缓存作用域的实例会让淘汰失效，直接拒绝
+        assertThrows(BeansException.class, () -> beanFactory.getBean("userService"));
+        assertThrows(BeansException.class, () -> beanFactory.getBean("accountService"));
+
+        // 原型每次创建都取当前缓存的实例，允许注入
+        BeanDefinition prototypeDefinition = new BeanDefinition(UserService.class, propertyValues);
+        prototypeDefinition.setScope(BeanDefinition.SCOPE_PROTOTYPE);
+        beanFactory.registerBeanDefinition("userService", prototypeDefinition);
+        assertSame(beanFactory.getBean("userDao"), ((UserService) beanFactory.getBean("userService")).getUserDao());
+    }
+
+    @Test
+    public void collapseConcurrentRecreation() throws Exception {
+        DefaultListableBeanFactory beanFactory = new DefaultListableBeanFactory();
+        BeanDefinition beanDefinition = new BeanDefinition(LookupTable.class);
+        beanDefinition.setScope(BeanDefinition.SCOPE_CACHE);
+        beanFactory.registerBeanDefinition("lookupTable", beanDefinition);
+
+        int threads = 8;
+        ExecutorService executor = Executors.newFixedThreadPool(threads);
+        try {
+            for (int round = 0; round < 2; round++) {
+                int buildsBefore = LookupTable.BUILD_COUNT.get();
+                CountDownLatch start = new CountDownLatch(1);
+                List<Future<Object>> results = new ArrayList<>();
+                for (int i = 0; i < threads; i++) {
+                    Callable<Object> task = () -> {
+                        start.await();
+                        return beanFactory.getBean("lookupTable");
+                    };
+                    results.add(executor.submit(task));
+                }
+                start.countDown();
+                Object first = results.get(0).get();
+                for (Future<Object> result : results) {
+                    assertSame(first, result.get());
+                }
+                assertEquals(buildsBefore + 1, LookupTable.BUILD_COUNT.get());
+
+                // 重建结束后创建锁随即移除
+                assertEquals(0, beanFactory.getCachedBeanRegistry().getPendingCreationCount());
+
+                // 主动淘汰后，下一轮并发获取再次只重建一次
+                beanFactory.getCachedBeanRegistry().evict("lookupTable");
+            }
+        } finally {
+            executor.shutdownNow();
+        }
+    }
+}
@@ -0,0 +1,42 @@
+package com.lj.framwork.test;
+
+import com.lj.framwork.context.annotation.ClassPathBeanDefinitionScanner;
+import com.lj.framwork.beans.factory.support.DefaultListableBeanFactory;
+import com.lj.framwork.test.scan.OrderDao;
+import com.lj.framwork.test.scan.OrderService;
+import org.junit.jupiter.api.Test;
+
+import java.util.Set;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertInstanceOf;
+
+/**
+ * @ClassName ComponentScanTest
+ * @Description 测试 @Component 组件扫描：编译期索引与回退的类路径扫描应得到相同的结果
+ * @Author Dark Chocolate
+ * @Date 2026/1/23 17:10
+ * @Version JDK 17
+ */
+public class ComponentScanTest {
+
+    @Test
+    public void scanWithIndex() {
+        DefaultListableBeanFactory beanFactory = new DefaultListableBeanFactory();
+        ClassPathBeanDefinitionScanner scanner = new ClassPathBeanDefinitionScanner(beanFactory);
+
+        assertEquals(2, scanner.scan("com.lj.framwork.test.scan"));
+        assertInstanceOf(OrderDao.class, beanFactory.getBean("orderDao"));
+        assertInstanceOf(OrderService.class, beanFactory.getBean("orders"));
+    }
+
+    @Test
+    public void scanClassFilesWithoutIndex() {
+        DefaultListableBeanFactory beanFactory = new DefaultListableBeanFactory();
+        ClassPathBeanDefinitionScanner scanner = new ClassPathBeanDefinitionScanner(beanFactory);
+        scanner.setUseIndex(false);
+
+        Set<Class<?>> candidates = scanner.findCandidateComponents("com.lj.framwork.test.scan");
+        assertEquals(Set.of(OrderDao.class, OrderService.class), candidates);
+    }
+}
@@ -0,0 +1,189 @@
+package com.lj.framwork.test;
+
+import com.lj.framwork.beans.BeansException;
+import com.lj.framwork.beans.factory.PropertyValue;
+import com.lj.framwork.beans.factory.PropertyValues;
+import com.lj.framwork.beans.factory.config.BeanDefinition;
+import com.lj.framwork.beans.factory.config.BeanReference;
+import com.lj.framwork.beans.factory.support.DefaultListableBeanFactory;
+import com.lj.framwork.test.beans.UserDao;
+import com.lj.framwork.test.beans.UserService;
+import com.lj.framwork.test.event.OrderListener;
+import com.lj.framwork.test.event.OrderPlacedEvent;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNotSame;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/**
+ * @ClassName IncrementalRefreshTest
+ * @Description 测试重复注册 Bean 定义时的增量刷新：只重建受影响的子图，其余单例保持不变
+ * @Author Dark Chocolate
+ * @Date 2026/1/21 15:36
+ * @Version JDK 17
+ */
+public class IncrementalRefreshTest {
+
+    private DefaultListableBeanFactory createBeanFactory() {
+        DefaultListableBeanFactory beanFactory = new DefaultListableBeanFactory();
+        beanFactory.registerBeanDefinition("userDao", new BeanDefinition(UserDao.class));
+        PropertyValues propertyValues = new PropertyValues();
+        propertyValues.addPropertyValue(new PropertyValue("uId", "10001"));
+        propertyValues.addPropertyValue(new PropertyValue("userDao", new BeanReference("userDao")));
+        beanFactory.registerBeanDefinition("userService", new BeanDefinition(UserService.class, propertyValues));
+        return beanFactory;
+    }
+
+    @Test
+    public void rebuildAffectedSubgraphOnly() {
+        DefaultListableBeanFactory beanFactory = createBeanFactory();
+        beanFactory.registerBeanDefinition("otherDao", new BeanDefinition(UserDao.class));
+
+        UserService oldUserService = (UserService) beanFactory.getBean("userService");
+        UserDao oldUserDao = (UserDao) beanFactory.getBean("userDao");
+        Object otherDao = beanFactory.getBean("otherDao");
+
+        // 重新注册 userDao：userDao 与依赖它的 userService 被重建，otherDao 不受影响
+        beanFactory.registerBeanDefinition("userDao", new BeanDefinition(UserDao.class));
+
+        UserService newUserService = (UserService) beanFactory.getBean("userService");
+        UserDao newUserDao = (UserDao) beanFactory.getBean("userDao");
+        assertNotSame(oldUserDao, newUserDao);
+        assertNotSame(oldUserService, newUserService);
+        assertSame(newUserDao, newUserService.getUserDao());
+        assertEquals("10001", newUserService.getuId());
+        assertSame(otherDao, beanFactory.getBean("otherDao"));
+
+        // 旧实例本身保持完整，持有它的调用方不会看到被修改的对象
+        assertSame(oldUserDao, oldUserService.getUserDao());
+    }
+
+    @Test
+    public void retireSingletonWhenScopeChanges() {
+        DefaultListableBeanFactory beanFactory = createBeanFactory();
+        UserService oldUserService = (UserService) beanFactory.getBean("userService");
+        UserDao oldUserDao = (UserDao) beanFactory.getBean("userDao");
+
+        // 单例改为原型：旧单例被移除而不是重建，之后每次获取都是新实例
+        BeanDefinition prototype = new BeanDefinition(UserDao.class);
+        prototype.setScope(BeanDefinition.SCOPE_PROTOTYPE);
+        beanFactory.registerBeanDefinition("userDao", prototype);
+
+        assertFalse(beanFactory.containsSingleton("userDao"));
+        UserDao userDao = (UserDao) beanFactory.getBean("userDao");
+        assertNotSame(userDao, beanFactory.getBean("userDao"));
+        assertNotSame(oldUserDao, userDao);
+
+        // 仍是单例的依赖方照常重建，并拿到按新作用域创建的实例
+        UserService newUserService = (UserService) beanFactory.getBean("userService");
+        assertNotSame(oldUserService, newUserService);
+        assertNotSame(oldUserDao, newUserService.getUserDao());
+        assertSame(newUserService, beanFactory.getBean("userService"));
+
+        // 按参数记忆作用域：不同参数得到不同实例，不再返回旧单例
+        BeanDefinition memoized = new BeanDefinition(UserService.class);
+        memoized.setMemoizedCacheSize(4);
+        beanFactory.registerBeanDefinition("userService", memoized);
+        assertFalse(beanFactory.containsSingleton("userService"));
+        assertSame(beanFactory.getBean("userService", new Object[0]), beanFactory.getBean("userService", new Object[0]));
+    }
+
+    @Test
+    public void unregisterRetiredListener() {
+        DefaultListableBeanFactory beanFactory = new DefaultListableBeanFactory();
+        beanFactory.registerBeanDefinition("orderListener", new BeanDefinition(OrderListener.class));
+        OrderListener oldListener = (OrderListener) beanFactory.getBean("orderListener");
+
+        BeanDefinition prototype = new BeanDefinition(OrderListener.class);
+        prototype.setScope(BeanDefinition.SCOPE_PROTOTYPE);
+        beanFactory.registerBeanDefinition("orderListener", prototype);
+
+        // 旧的单例监听器不再收到事件
+        beanFactory.publishEvent(new OrderPlacedEvent(this, "R-1"));
+        assertTrue(oldListener.getOrderIds().isEmpty());
+    }
+
+    @Test
+    public void restorePreviousDefinitionWhenRebuildFails() {
+        DefaultListableBeanFactory beanFactory = createBeanFactory();
+        UserService oldUserService = (UserService) beanFactory.getBean("userService");
+        UserDao oldUserDao = (UserDao) beanFactory.getBean("userDao");
+        BeanDefinition oldDefinition = beanFactory.getBeanDefinition("userDao");
+
+        BeanDefinition broken = new BeanDefinition(UserDao.class, () -> {
+            throw new IllegalStateException("broken userDao");
+        });
+        assertThrows(BeansException.class, () -> beanFactory.registerBeanDefinition("userDao", broken));
+
+        // 旧定义与旧单例都保持不变，依赖方继续按旧定义工作
+        assertSame(oldDefinition, beanFactory.getBeanDefinition("userDao"));
+        assertSame(oldUserDao, beanFactory.getBean("userDao"));
+        assertSame(oldUserService, beanFactory.getBean("userService"));
+
+        // 回滚后再次注册可用的定义，增量刷新照常进行
+        beanFactory.registerBeanDefinition("userDao", new BeanDefinition(UserDao.class));
+        assertNotSame(oldUserDao, beanFactory.getBean("userDao"));
+        assertSame(beanFactory.getBean("userDao"), ((UserService) beanFactory.getBean("userService")).getUserDao());
+    }
+
+    @Test
+    public void concurrentReadersSeeConsistentSwap() throws InterruptedException {
+        DefaultListableBeanFactory beanFactory = createBeanFactory();
+        beanFactory.getBean("userService");
+
+        // 写线程在每次重新注册前后各递增一次：偶数表示当前没有刷新在进行
+        AtomicInteger sequence = new AtomicInteger();
+        AtomicBoolean running = new AtomicBoolean(true);
+        AtomicInteger consistentReads = new AtomicInteger();
+        ConcurrentLinkedQueue<String> failures = new ConcurrentLinkedQueue<>();
+
+        List<Thread> readers = new ArrayList<>();
+        for (int t = 0; t < 4; t++) {
+            Thread reader = new Thread(() -> {
+                while (running.get()) {
+                    int before = sequence.get();
+                    UserService userService = (UserService) beanFactory.getBean("userService");
+                    UserDao userDao = (UserDao) beanFactory.getBean("userDao");
+                    int after = sequence.get();
+                    if (userService.getUserDao() == null || !"10001".equals(userService.getuId())) {
+                        failures.add("incomplete userService observed");
+                    }
+                    // 两次读取之间没有发生刷新时，userService 注入的必须就是当前的 userDao 单例
+                    if (before == after && before % 2 == 0) {
+                        consistentReads.incrementAndGet();
+                        if (userService.getUserDao() != userDao) {
+                            failures.add("userService holds a userDao from another generation");
+                        }
+                    }
+                }
+            });
+            reader.start();
+            readers.add(reader);
+        }
+
+        for (int i = 0; i < 500; i++) {
+            sequence.incrementAndGet();
+            beanFactory.registerBeanDefinition("userDao", new BeanDefinition(UserDao.class));
+            sequence.incrementAndGet();
+            Thread.yield();
+        }
+        running.set(false);
+        for (Thread reader : readers) {
+            reader.join();
+        }
+
+        assertTrue(failures.isEmpty(), () -> failures.peek());
+        assertTrue(consistentReads.get() > 0);
+        assertSame(beanFactory.getBean("userDao"), ((UserService) beanFactory.getBean("userService")).getUserDao());
+    }
+}
@@ -0,0 +1,131 @@
+package com.lj.framwork.test;
+
+import com.lj.framwork.beans.BeansException;
+import com.lj.framwork.beans.factory.config.BeanDefinition;
+import com.lj.framwork.beans.factory.config.LookupOverride;
+import com.lj.framwork.beans.factory.support.CglibSubclassingInstantiationStrategy;
+import com.lj.framwork.beans.factory.support.DefaultListableBeanFactory;
+import com.lj.framwork.test.beans.Command;
+import com.lj.framwork.test.beans.CommandManager;
+import com.lj.framwork.test.beans.UserService;
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNotSame;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+/**
+ * @ClassName LookupMethodInjectionTest
+ * @Description 测试查找方法注入：单例 Bean 的抽象方法每次调用都返回新的原型 Bean
+ * @Author Dark Chocolate
+ * @Date 2026/1/27 11:20
+ * @Version JDK 17
+ */
+public class LookupMethodInjectionTest {
+
+    private static void registerCommandManager(DefaultListableBeanFactory beanFactory, String commandScope) {
+        BeanDefinition commandDefinition = new BeanDefinition(Command.class);
+        commandDefinition.setScope(commandScope);
+        beanFactory.registerBeanDefinition("command", commandDefinition);
+
+        BeanDefinition managerDefinition = new BeanDefinition(CommandManager.class);
+        managerDefinition.getMethodOverrides().addOverride(new LookupOverride("createCommand", "command"));
+        beanFactory.registerBeanDefinition("commandManager", managerDefinition);
+    }
+
+    @Test
+    public void lookupPrototypeFromSingleton() {
+        DefaultListableBeanFactory beanFactory = new DefaultListableBeanFactory();
+
+        BeanDefinition commandDefinition = new BeanDefinition(Command.class);
+        commandDefinition.setScope(BeanDefinition.SCOPE_PROTOTYPE);
+        beanFactory.registerBeanDefinition("command", commandDefinition);
+
+        BeanDefinition managerDefinition = new BeanDefinition(CommandManager.class);
+        managerDefinition.getMethodOverrides().addOverride(new LookupOverride("createCommand", "command"));
+        beanFactory.registerBeanDefinition("commandManager", managerDefinition);
+
+        CommandManager commandManager = (CommandManager) beanFactory.getBean("commandManager");
+        assertSame(commandManager, beanFactory.getBean("commandManager"));
+
+        Command first = commandManager.createCommand();
+        Command second = commandManager.createCommand();
+        assertNotSame(first, second);
+        assertEquals("executed 42", commandManager.process("42"));
+
+        // 原型 Bean 不进入单例池，直接 getBean 同样每次都是新实例
+        assertNotSame(beanFactory.getBean("command"), beanFactory.getBean("command"));
+    }
+
+    @Test
+    public void followReRegisteredTargetDefinition() {
+        DefaultListableBeanFactory beanFactory = new DefaultListableBeanFactory();
+        registerCommandManager(beanFactory, BeanDefinition.SCOPE_PROTOTYPE);
+        CommandManager commandManager = (CommandManager) beanFactory.getBean("commandManager");
+        assertNotSame(commandManager.createCommand(), commandManager.createCommand());
+
+        // 目标 Bean 改为单例后，查找方法立即返回同一个实例
+        beanFactory.registerBeanDefinition("command", new BeanDefinition(Command.class));
+        assertSame(commandManager.createCommand(), commandManager.createCommand());
+        assertSame(beanFactory.getBean("command"), commandManager.createCommand());
+    }
+
+    @Test
+    public void resolveTargetRegisteredAfterInstance() {
+        DefaultListableBeanFactory beanFactory = new DefaultListableBeanFactory();
+        BeanDefinition managerDefinition = new BeanDefinition(CommandManager.class);
+        managerDefinition.getMethodOverrides().addOverride(new LookupOverride("createCommand", "command"));
+        beanFactory.registerBeanDefinition("commandManager", managerDefinition);
+        CommandManager commandManager = (CommandManager) beanFactory.getBean("commandManager");
+
+        // 创建实例时目标尚未注册，第一次调用时再解析
+        BeanDefinition commandDefinition = new BeanDefinition(Command.class);
+        commandDefinition.setScope(BeanDefinition.SCOPE_PROTOTYPE);
+        beanFactory.registerBeanDefinition("command", commandDefinition);
+        assertNotSame(commandManager.createCommand(), commandManager.createCommand());
+    }
+
+    @Test
+    public void rejectConcreteLookupMethod() {
+        DefaultListableBeanFactory beanFactory = new DefaultListableBeanFactory();
+        BeanDefinition definition = new BeanDefinition(UserService.class);
+        // getUserDao 是已有实现的具体方法，不能作为查找方法
+        definition.getMethodOverrides().addOverride(new LookupOverride("getUserDao", "userDao"));
+        beanFactory.registerBeanDefinition("userService", definition);
+        BeansException e = assertThrows(BeansException.class, () -> beanFactory.getBean("userService"));
+        Throwable root = e;
+        while (root.getCause() != null) {
+            root = root.getCause();
+        }
+        assertEquals(BeansException.class, root.getClass());
+    }
+
+    @Test
+    public void shareStrategyAcrossFactories() {
+        CglibSubclassingInstantiationStrategy strategy = new CglibSubclassingInstantiationStrategy();
+        DefaultListableBeanFactory prototypeFactory = new DefaultListableBeanFactory();
+        prototypeFactory.setInstantiationStrategy(strategy);
+        registerCommandManager(prototypeFactory, BeanDefinition.SCOPE_PROTOTYPE);
+        DefaultListableBeanFactory singletonFactory = new DefaultListableBeanFactory();
+        singletonFactory.setInstantiationStrategy(strategy);
+        registerCommandManager(singletonFactory, BeanDefinition.SCOPE_SINGLETON);
+
+        CommandManager prototypeManager = (CommandManager) prototypeFactory.getBean("commandManager");
+        CommandManager singletonManager = (CommandManager) singletonFactory.getBean("commandManager");
+        // 两个工厂共享同一个生成的子类，但查找方法各自从所属工厂取 Bean
+        assertSame(prototypeManager.getClass(), singletonManager.getClass());
+        assertSame(singletonFactory.getBean("command"), singletonManager.createCommand());
+        assertNotSame(prototypeManager.createCommand(), prototypeManager.createCommand());
+
+        // 替换为内容相同的定义：重建实例，但复用已生成的子类，不会再生成新类；另一个工厂不受影响
+        BeanDefinition managerDefinition = new BeanDefinition(CommandManager.class);
+        managerDefinition.getMethodOverrides().addOverride(new LookupOverride("createCommand", "command"));
+        singletonFactory.registerBeanDefinition("commandManager", managerDefinition);
+        CommandManager rebuilt = (CommandManager) singletonFactory.getBean("commandManager");
+        assertNotSame(singletonManager, rebuilt);
+        assertSame(singletonManager.getClass(), rebuilt.getClass());
+        assertSame(singletonFactory.getBean("command"), rebuilt.createCommand());
+        assertNotSame(prototypeManager.createCommand(), prototypeManager.createCommand());
+    }
+}
@@ -0,0 +1,140 @@
+package com.lj.framwork.test;
+
+import com.lj.framwork.beans.BeansException;
+import com.lj.framwork.beans.factory.config.BeanDefinition;
+import com.lj.framwork.beans.factory.support.ArgumentKeyedBeanCache;
+import com.lj.framwork.beans.factory.support.DefaultListableBeanFactory;
+import com.lj.framwork.test.beans.RegionClient;
+import com.lj.framwork.test.beans.UserDao;
+import org.junit.jupiter.api.Test;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNotSame;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTimeoutPreemptively;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/**
+ * @ClassName MemoizedBeanTest
+ * @Description 测试按参数记忆作用域：相同参数返回同一实例，并发未命中只构造一次，缓存有界并统计命中率
+ * @Author Dark Chocolate
+ * @Date 2026/2/2 10:30
+ * @Version JDK 17
+ */
+public class MemoizedBeanTest {
+
+    @Test
+    public void memoizeByArgumentTuple() {
+        DefaultListableBeanFactory beanFactory = new DefaultListableBeanFactory();
+        BeanDefinition beanDefinition = new BeanDefinition(RegionClient.class);
+        beanDefinition.setMemoizedCacheSize(2);
+        beanFactory.registerBeanDefinition("regionClient", beanDefinition);
+
+        Object[] eastArgs = {"east"};
+        RegionClient east = (RegionClient) beanFactory.getBean("regionClient", eastArgs);
+        // 缓存键持有参数的副本，调用方之后修改数组不影响已缓存的条目
+        eastArgs[0] = "changed";
+        RegionClient west = (RegionClient) beanFactory.getBean("regionClient", new Object[]{"west"});
+        assertEquals("east", east.getRegion());
+        assertNotSame(east, west);
+        assertSame(east, beanFactory.getBean("regionClient", new Object[]{"east"}));
+        assertSame(west, beanFactory.getBean("regionClient", new Object[]{"west"}));
+        // 不会进入单例池
+        assertNull(beanFactory.getSingleton("regionClient"));
+
+        // 容量为 2：放入第三个参数时淘汰最久未访问的 east
+        RegionClient north = (RegionClient) beanFactory.getBean("regionClient", new Object[]{"north"});
+        assertEquals("north", north.getRegion());
+        assertSame(west, beanFactory.getBean("regionClient", new Object[]{"west"}));
+        assertNotSame(east, beanFactory.getBean("regionClient", new Object[]{"east"}));
+
+        ArgumentKeyedBeanCache cache = beanFactory.getArgumentKeyedBeanCache("regionClient");
+        assertEquals(2, cache.size());
+        assertEquals(3, cache.getHitCount());
+        assertEquals(4, cache.getMissCount());
+        assertEquals(2, cache.getEvictionCount());
+        assertEquals(3.0 / 7, cache.getHitRatio(), 1e-9);
+
+        // 重新注册定义后丢弃旧缓存
+        beanFactory.registerBeanDefinition("regionClient", beanDefinition);
+        assertNull(beanFactory.getArgumentKeyedBeanCache("regionClient"));
+        assertNotSame(west, beanFactory.getBean("regionClient", new Object[]{"west"}));
+    }
+
+    @Test
+    public void collapseConcurrentMissesOnSameArguments() throws Exception {
+        DefaultListableBeanFactory beanFactory = new DefaultListableBeanFactory();
+        AtomicInteger builds = new AtomicInteger();
+        CountDownLatch building = new CountDownLatch(1);
+        beanFactory.registerBean("regionClient", RegionClient.class, () -> {
+            builds.incrementAndGet();
+            building.countDown();
+            try {
+                // 构造较慢，保证其它线程在构造期间到达
+                Thread.sleep(100);
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            }
+            return new RegionClient("east");
+        }, beanDefinition -> beanDefinition.setMemoizedCacheSize(16));
+
+        int threads = 8;
+        ExecutorService executor = Executors.newFixedThreadPool(threads);
+        try {
+            List<Future<Object>> results = new ArrayList<>();
+            results.add(executor.submit(() -> beanFactory.getBean("regionClient", new Object[]{"east"})));
+            building.await();
+            for (int i = 1; i < threads; i++) {
+                results.add(executor.submit(() -> beanFactory.getBean("regionClient", new Object[]{"east"})));
+            }
+            Object first = results.get(0).get();
+            for (Future<Object> result : results) {
+                assertSame(first, result.get());
+            }
+        } finally {
+            executor.shutdownNow();
+        }
+        assertEquals(1, builds.get());
+        ArgumentKeyedBeanCache cache = beanFactory.getArgumentKeyedBeanCache("regionClient");
+        // 等待其它线程构造的请求单独计数，不算作命中；构造完成后才到达的请求才是命中
+        assertEquals(1, cache.getMissCount());
+        assertTrue(cache.getWaitCount() > 0);
+        assertEquals(threads - 1, cache.getHitCount() + cache.getWaitCount());
+        assertEquals((double) cache.getHitCount() / threads, cache.getHitRatio(), 1e-9);
+    }
+
+    @Test
+    public void failFastOnCircularReference() {
+        DefaultListableBeanFactory beanFactory = new DefaultListableBeanFactory();
+        // 按参数记忆的 regionClient -> 单例 userDao -> regionClient
+        beanFactory.registerBean("regionClient", RegionClient.class, () -> {
+            beanFactory.getBean("userDao");
+            return new RegionClient("east");
+        }, beanDefinition -> beanDefinition.setMemoizedCacheSize(4));
+        beanFactory.registerBean("userDao", UserDao.class, () -> {
+            beanFactory.getBean("regionClient");
+            return new UserDao();
+        });
+
+        // 同一线程等待自己的构造会永远阻塞，必须立即报错
+        BeansException e = assertTimeoutPreemptively(Duration.ofSeconds(5),
+                () -> assertThrows(BeansException.class, () -> beanFactory.getBean("regionClient")));
+        Throwable root = e;
+        while (root.getCause() != null) {
+            root = root.getCause();
+        }
+        assertTrue(root.getMessage().startsWith("Circular reference: memoized bean 'regionClient'"), root.getMessage());
+        assertEquals(0, beanFactory.getArgumentKeyedBeanCache("regionClient").size());
+    }
+}
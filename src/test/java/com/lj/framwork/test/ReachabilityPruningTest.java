@@ -0,0 +1,110 @@
+package com.lj.framwork.test;
+
+import com.lj.framwork.beans.factory.PropertyValue;
+import com.lj.framwork.beans.factory.PropertyValues;
+import com.lj.framwork.beans.factory.config.BeanDefinition;
+import com.lj.framwork.beans.factory.config.BeanReference;
+import com.lj.framwork.beans.factory.support.DefaultListableBeanFactory;
+import com.lj.framwork.beans.factory.support.PreInstantiationReport;
+import com.lj.framwork.test.beans.AccountService;
+import com.lj.framwork.test.beans.Command;
+import com.lj.framwork.test.beans.LookupTable;
+import com.lj.framwork.test.beans.RegionClient;
+import com.lj.framwork.test.beans.UserDao;
+import com.lj.framwork.test.beans.UserService;
+import com.lj.framwork.test.event.OrderListener;
+import com.lj.framwork.test.event.OrderPlacedEvent;
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNotNull;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/**
+ * @ClassName ReachabilityPruningTest
+ * @Description 测试按可达性剪枝的预实例化：只创建根 Bean 可达的单例，其余延迟到按需创建
+ * @Author Dark Chocolate
+ * @Date 2026/2/4 10:20
+ * @Version JDK 17
+ */
+public class ReachabilityPruningTest {
+
+    private DefaultListableBeanFactory createBeanFactory() {
+        DefaultListableBeanFactory beanFactory = new DefaultListableBeanFactory();
+        beanFactory.registerBeanDefinition("userDao", new BeanDefinition(UserDao.class));
+        PropertyValues propertyValues = new PropertyValues();
+        propertyValues.addPropertyValue(new PropertyValue("userDao", new BeanReference("userDao")));
+        beanFactory.registerBeanDefinition("userService", new BeanDefinition(UserService.class, propertyValues));
+        // accountService 通过 @Autowired 依赖 userDao 与 command
+        beanFactory.registerBeanDefinition("accountService", new BeanDefinition(AccountService.class));
+        beanFactory.registerBeanDefinition("command", new BeanDefinition(Command.class));
+        beanFactory.registerBeanDefinition("lookupTable", new BeanDefinition(LookupTable.class));
+        beanFactory.registerBeanDefinition("regionClient", new BeanDefinition(RegionClient.class, new String[]{"lookupTable"},
+                dependencies -> new RegionClient()));
+        return beanFactory;
+    }
+
+    @Test
+    public void pruneUnreachableSingletons() {
+        DefaultListableBeanFactory beanFactory = createBeanFactory();
+        beanFactory.setRootBeanNames("userService");
+
+        PreInstantiationReport report = beanFactory.preInstantiateSingletons();
+        assertEquals(List.of("userService", "userDao"), report.getInstantiatedBeanNames());
+        assertEquals(List.of("accountService", "command", "lookupTable", "regionClient"), report.getPrunedBeanNames());
+        assertTrue(beanFactory.containsSingleton("userService"));
+        assertFalse(beanFactory.containsSingleton("lookupTable"));
+
+        // 对象头 12 字节 + 一个引用 4 字节 = 16；lookupTable 持有的 int[] 不计入，浅层大小不是节省的内存
+        assertEquals(16L, report.getEstimatedShallowBytes("regionClient"));
+        assertEquals(16L, report.getEstimatedShallowBytes("lookupTable"));
+        assertTrue(report.getEstimatedPrunedShallowBytes() >= 4 * 16L);
+        assertTrue(report.toString().contains("prunedShallowBytes="), report.toString());
+
+        // 被剪枝的 Bean 仍可按需创建
+        assertNotNull(beanFactory.getBean("regionClient"));
+        assertTrue(beanFactory.containsSingleton("lookupTable"));
+    }
+
+    @Test
+    public void followAutowiredAndDependsOnEdges() {
+        DefaultListableBeanFactory beanFactory = createBeanFactory();
+        beanFactory.setRootBeanNames("accountService", "regionClient");
+
+        assertEquals(List.of("accountService", "regionClient", "userDao", "command", "lookupTable"),
+                List.copyOf(beanFactory.getReachableBeanNames()));
+        PreInstantiationReport report = beanFactory.preInstantiateSingletons();
+        assertEquals(List.of("userService"), report.getPrunedBeanNames());
+        AccountService accountService = (AccountService) beanFactory.getBean("accountService");
+        assertSame(beanFactory.getSingleton("userDao"), accountService.getUserDao());
+    }
+
+    @Test
+    public void keepUnreferencedListeners() {
+        DefaultListableBeanFactory beanFactory = createBeanFactory();
+        // 没有任何 Bean 引用监听器，它只有被创建后才会注册到事件广播器
+        beanFactory.registerBeanDefinition("orderListener", new BeanDefinition(OrderListener.class));
+        beanFactory.setRootBeanNames("userService");
+
+        PreInstantiationReport report = beanFactory.preInstantiateSingletons();
+        assertEquals(List.of("orderListener"), report.getImplicitRootBeanNames());
+        assertEquals(List.of("userService", "orderListener", "userDao"), report.getInstantiatedBeanNames());
+        assertFalse(report.getPrunedBeanNames().contains("orderListener"));
+
+        beanFactory.publishEvent(new OrderPlacedEvent(this, "P-1"));
+        assertEquals(List.of("P-1"), ((OrderListener) beanFactory.getSingleton("orderListener")).getOrderIds());
+    }
+
+    @Test
+    public void preInstantiateAllWithoutRoots() {
+        DefaultListableBeanFactory beanFactory = createBeanFactory();
+        PreInstantiationReport report = beanFactory.preInstantiateSingletons();
+        assertTrue(report.getPrunedBeanNames().isEmpty());
+        assertEquals(6, report.getInstantiatedBeanNames().size());
+    }
+
+}
@@ -0,0 +1,61 @@
+package com.lj.framwork.test;
+
+import com.lj.framwork.aop.DefaultPointcutAdvisor;
+import com.lj.framwork.aop.MethodBeforeAdvice;
+import com.lj.framwork.beans.BeansException;
+import com.lj.framwork.beans.factory.PropertyValue;
+import com.lj.framwork.beans.factory.config.BeanReference;
+import com.lj.framwork.beans.factory.support.DefaultListableBeanFactory;
+import com.lj.framwork.test.beans.UserDao;
+import com.lj.framwork.test.beans.UserService;
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/**
+ * @ClassName SupplierRegistrationTest
+ * @Description 测试函数式注册：实例由 Supplier 直接创建，不生成 CGLIB 子类，属性仍可通过定制回调声明
+ * @Author Dark Chocolate
+ * @Date 2026/1/22 10:58
+ * @Version JDK 17
+ */
+public class SupplierRegistrationTest {
+
+    @Test
+    public void registerBeanWithSupplier() {
+        DefaultListableBeanFactory beanFactory = new DefaultListableBeanFactory();
+        beanFactory.registerBean("userDao", UserDao.class, UserDao::new);
+        beanFactory.registerBean("userService", UserService.class, UserService::new, beanDefinition -> {
+            beanDefinition.getPropertyValues().addPropertyValue(new PropertyValue("uId", "10002"));
+            beanDefinition.getPropertyValues().addPropertyValue(new PropertyValue("userDao", new BeanReference("userDao")));
+        });
+
+        UserService userService = (UserService) beanFactory.getBean("userService");
+
+        // Supplier 返回的就是原始类的实例，而不是 CGLIB 生成的子类
+        assertSame(UserService.class, userService.getClass());
+        assertSame(beanFactory.getBean("userDao"), userService.getUserDao());
+        assertEquals("10002", userService.getuId());
+        userService.queryUserInfo();
+    }
+
+    @Test
+    public void rejectSupplierForAdvisedBean() {
+        DefaultListableBeanFactory beanFactory = new DefaultListableBeanFactory();
+        MethodBeforeAdvice advice = (method, args, target) -> { };
+        beanFactory.addAdvisor(new DefaultPointcutAdvisor(
+                (method, targetClass) -> UserDao.class.equals(targetClass) && "queryUserName".equals(method.getName()), advice));
+        beanFactory.registerBean("userDao", UserDao.class, UserDao::new);
+        beanFactory.registerBean("userService", UserService.class, UserService::new);
+
+        // Supplier 返回的实例无法被通知，不能悄悄跳过通知器
+        BeansException e = assertThrows(BeansException.class, () -> beanFactory.getBean("userDao"));
+        assertTrue(e.getCause().getMessage().contains("instance supplier"), e.getCause().getMessage());
+
+        // 没有通知匹配的 Bean 仍然直接使用 Supplier
+        assertSame(UserService.class, beanFactory.getBean("userService").getClass());
+    }
+}
@@ -0,0 +1,19 @@
+package com.lj.framwork.test.aot;
+
+import com.lj.framwork.stereotype.Component;
+
+/**
+ * @ClassName InventoryDao
+ * @Description 编译期注册器测试用的 Bean，没有依赖
+ * @Author Dark Chocolate 2069057986@qq.com
+ * @Date 2026/2/3 11:20
+ * @Version JDK 17
+ */
+@Component
+public class InventoryDao {
+
+    public int queryStock(String sku) {
+        return sku.length();
+    }
+
+}
@@ -0,0 +1,39 @@
+package com.lj.framwork.test.aot;
+
+import com.lj.framwork.beans.factory.annotation.Autowired;
+import com.lj.framwork.stereotype.Component;
+import com.lj.framwork.test.scan.OrderDao;
+
+/**
+ * @ClassName InventoryService
+ * @Description 编译期注册器测试用的 Bean：setter 注入同包的 InventoryDao，字段注入其他包的 OrderDao
+ * @Author Dark Chocolate 2069057986@qq.com
+ * @Date 2026/2/3 11:21
+ * @Version JDK 17
+ */
+@Component
+public class InventoryService {
+
+    @Autowired
+    OrderDao orderDao;
+
+    private InventoryDao inventoryDao;
+
+    public String describe(String sku) {
+        return orderDao.queryOrder(sku) + ":" + inventoryDao.queryStock(sku);
+    }
+
+    public InventoryDao getInventoryDao() {
+        return inventoryDao;
+    }
+
+    @Autowired
+    public void setInventoryDao(InventoryDao inventoryDao) {
+        this.inventoryDao = inventoryDao;
+    }
+
+    public OrderDao getOrderDao() {
+        return orderDao;
+    }
+
+}
@@ -0,0 +1,36 @@
+package com.lj.framwork.test.beans;
+
+import com.lj.framwork.beans.factory.annotation.Autowired;
+
+/**
+ * @ClassName AccountService
+ * @Description 通过 @Autowired 字段与 setter 注入依赖的 Bean
+ * @Author Dark Chocolate 2069057986@qq.com
+ * @Date 2026/1/30 10:20
+ * @Version JDK 17
+ */
+public class AccountService {
+
+    @Autowired
+    private UserDao userDao;
+
+    private Command command;
+
+    @Autowired
+    public void setCommand(Command command) {
+        this.command = command;
+    }
+
+    public String describe(String uId) {
+        return command.execute(userDao.queryUserName(uId));
+    }
+
+    public UserDao getUserDao() {
+        return userDao;
+    }
+
+    public Command getCommand() {
+        return command;
+    }
+
+}
@@ -0,0 +1,19 @@
+package com.lj.framwork.test.beans;
+
+/**
+ * @ClassName Command
+ * @Description 有状态的命令对象，作为原型 Bean 使用
+ * @Author Dark Chocolate 2069057986@qq.com
+ * @Date 2026/1/27 11:05
+ * @Version JDK 17
+ */
+public class Command {
+
+    private String state;
+
+    public String execute(String state) {
+        this.state = state;
+        return "executed " + this.state;
+    }
+
+}
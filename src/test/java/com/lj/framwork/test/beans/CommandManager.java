@@ -0,0 +1,21 @@
+package com.lj.framwork.test.beans;
+
+/**
+ * @ClassName CommandManager
+ * @Description 单例 Bean，通过查找方法每次获取新的 Command 原型
+ * @Author Dark Chocolate 2069057986@qq.com
+ * @Date 2026/1/27 11:06
+ * @Version JDK 17
+ */
+public abstract class CommandManager {
+
+    public String process(String state) {
+        return createCommand().execute(state);
+    }
+
+    /**
+     * 由容器通过 lookup-method 实现
+     */
+    public abstract Command createCommand();
+
+}
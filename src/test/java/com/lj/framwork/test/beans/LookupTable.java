@@ -0,0 +1,38 @@
+package com.lj.framwork.test.beans;
+
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * @ClassName LookupTable
+ * @Description 构建较慢、可以重建的查找表，作为缓存作用域 Bean 使用
+ * @Author Dark Chocolate 2069057986@qq.com
+ * @Date 2026/2/1 10:30
+ * @Version JDK 17
+ */
+public class LookupTable {
+
+    /**
+     * 累计构建次数
+     */
+    public static final AtomicInteger BUILD_COUNT = new AtomicInteger();
+
+    private final int[] table = new int[1024];
+
+    public LookupTable() {
+        BUILD_COUNT.incrementAndGet();
+        for (int i = 0; i < table.length; i++) {
+            table[i] = i * i;
+        }
+        try {
+            // 模拟较慢的构建过程，放大并发重建的窗口
+            Thread.sleep(50);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+
+    public int lookup(int key) {
+        return table[key];
+    }
+
+}
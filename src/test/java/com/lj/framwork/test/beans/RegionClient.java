@@ -0,0 +1,26 @@
+package com.lj.framwork.test.beans;
+
+/**
+ * @ClassName RegionClient
+ * @Description 按地域区分的客户端，通过构造参数指定地域
+ * @Author Dark Chocolate 2069057986@qq.com
+ * @Date 2026/2/2 10:20
+ * @Version JDK 17
+ */
+public class RegionClient {
+
+    private final String region;
+
+    public RegionClient() {
+        this("default");
+    }
+
+    public RegionClient(String region) {
+        this.region = region;
+    }
+
+    public String getRegion() {
+        return region;
+    }
+
+}
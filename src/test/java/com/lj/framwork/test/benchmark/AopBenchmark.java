@@ -0,0 +1,87 @@
+package com.lj.framwork.test.benchmark;
+
+import com.lj.framwork.aop.DefaultPointcutAdvisor;
+import com.lj.framwork.aop.MethodInterceptor;
+import com.lj.framwork.beans.factory.config.BeanDefinition;
+import com.lj.framwork.beans.factory.support.DefaultListableBeanFactory;
+
+/**
+ * @ClassName AopBenchmark
+ * @Description 对比方法调用开销（ns/call）：
+ * 1. plain：直接 new 出来的普通对象
+ * 2. unadvised：代理子类中没有通知的方法（走 NoOp 槽位，子类不重写）
+ * 3. advised：代理子类中带一个直通环绕通知的方法（预计算链 + MethodProxy.invokeSuper）
+ * 不是单元测试（surefire 不会执行），需要手动运行 main 方法：
+ * java --add-opens java.base/java.lang=ALL-UNNAMED -cp target/classes:target/test-classes:依赖 com.lj.framwork.test.benchmark.AopBenchmark
+ * @Author Dark Chocolate
+ * @Date 2026/1/29 11:30
+ * @Version JDK 17
+ */
+public class AopBenchmark {
+
+    private static final int CALLS = 20_000_000;
+
+    private static final int WARMUP_ROUNDS = 5;
+
+    private static final int MEASURE_ROUNDS = 10;
+
+    public static void main(String[] args) {
+        DefaultListableBeanFactory beanFactory = new DefaultListableBeanFactory();
+        MethodInterceptor passThrough = invocation -> invocation.proceed();
+        beanFactory.addAdvisor(new DefaultPointcutAdvisor(
+                (method, targetClass) -> "advised".equals(method.getName()), passThrough));
+        beanFactory.registerBeanDefinition("counter", new BeanDefinition(Counter.class));
+        Counter proxy = (Counter) beanFactory.getBean("counter");
+
+        run("plain", new Counter(), false);
+        run("unadvised method on proxy", proxy, false);
+        run("advised method on proxy", proxy, true);
+    }
+
+    private static void run(String label, Counter counter, boolean advised) {
+        for (int i = 0; i < WARMUP_ROUNDS; i++) {
+            round(counter, advised);
+        }
+        long total = 0L;
+        for (int i = 0; i < MEASURE_ROUNDS; i++) {
+            total += round(counter, advised);
+        }
+        System.out.printf("%-32s %8.2f ns/call%n", label, (double) total / MEASURE_ROUNDS / CALLS);
+    }
+
+    /**
+     * @return 本轮 CALLS 次调用的总耗时（纳秒）
+     */
+    private static long round(Counter counter, boolean advised) {
+        long sink = 0L;
+        long start = System.nanoTime();
+        if (advised) {
+            for (int i = 0; i < CALLS; i++) {
+                sink += counter.advised(i);
+            }
+        } else {
+            for (int i = 0; i < CALLS; i++) {
+                sink += counter.unadvised(i);
+            }
+        }
+        long elapsed = System.nanoTime() - start;
+        if (sink == 42L) {
+            System.out.println(sink);
+        }
+        return elapsed;
+    }
+
+    public static class Counter {
+
+        private long count;
+
+        public long advised(int delta) {
+            return count += delta;
+        }
+
+        public long unadvised(int delta) {
+            return count += delta;
+        }
+
+    }
+}
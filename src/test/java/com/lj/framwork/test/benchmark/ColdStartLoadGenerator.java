@@ -0,0 +1,267 @@
+package com.lj.framwork.test.benchmark;
+
+import com.lj.framwork.beans.factory.PropertyValue;
+import com.lj.framwork.beans.factory.PropertyValues;
+import com.lj.framwork.beans.factory.config.BeanDefinition;
+import com.lj.framwork.beans.factory.config.BeanReference;
+import com.lj.framwork.beans.factory.support.DefaultListableBeanFactory;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.IdentityHashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Random;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * @ClassName ColdStartLoadGenerator
+ * @Description 冷启动并发压测工具。
+ * 复现线上场景：容器刚注册完 BeanDefinition、还没有创建任何单例时，
+ * 大量线程同时调用 getBean(name) 与 getBean(name, args)，单例在压测过程中被并发创建。
+ * 依赖图为随机生成的有向无环图（bean i 只依赖编号更大的 bean），规模与扇出可配置。
+ * 输出：
+ * 1. 每次调用延迟的 p50 / p99 / p999 / max（对数-线性直方图）。
+ * 2. 重复实例数：同一个 Bean 名称被不同调用拿到不同对象的次数。
+ * 3. 不一致引用数：压测结束后，Bean 中注入的依赖不是容器里最终那个单例的次数。
+ * 4. 异常数。
+ * 只依赖 JDK 与本工程，单机即可运行（surefire 不会执行），例如：
+ * java --add-opens java.base/java.lang=ALL-UNNAMED -cp target/classes:target/test-classes:依赖 \
+ *      com.lj.framwork.test.benchmark.ColdStartLoadGenerator beans=2000 fanOut=4 threads=200 calls=2000 argsRatio=0.1 seed=42
+ * @Author Dark Chocolate
+ * @Date 2026/1/25 10:40
+ * @Version JDK 17
+ */
+public class ColdStartLoadGenerator {
+
+    private final int beanCount;
+
+    private final int fanOut;
+
+    private final int threads;
+
+    private final int callsPerThread;
+
+    /**
+     * 调用 getBean(name, args) 的比例（0 ~ 1）
+     */
+    private final double argsRatio;
+
+    private final long seed;
+
+    public ColdStartLoadGenerator(int beanCount, int fanOut, int threads, int callsPerThread, double argsRatio, long seed) {
+        if (fanOut > SyntheticBean.MAX_FAN_OUT) {
+            throw new IllegalArgumentException("fanOut must not exceed " + SyntheticBean.MAX_FAN_OUT);
+        }
+        this.beanCount = beanCount;
+        this.fanOut = fanOut;
+        this.threads = threads;
+        this.callsPerThread = callsPerThread;
+        this.argsRatio = argsRatio;
+        this.seed = seed;
+    }
+
+    public static void main(String[] args) throws InterruptedException {
+        Map<String, String> options = new ConcurrentHashMap<>();
+        for (String arg : args) {
+            int eq = arg.indexOf('=');
+            if (eq > 0) {
+                options.put(arg.substring(0, eq), arg.substring(eq + 1));
+            }
+        }
+        ColdStartLoadGenerator generator = new ColdStartLoadGenerator(
+                Integer.parseInt(options.getOrDefault("beans", "2000")),
+                Integer.parseInt(options.getOrDefault("fanOut", "4")),
+                Integer.parseInt(options.getOrDefault("threads", "200")),
+                Integer.parseInt(options.getOrDefault("calls", "2000")),
+                Double.parseDouble(options.getOrDefault("argsRatio", "0.1")),
+                Long.parseLong(options.getOrDefault("seed", "42")));
+        System.out.println(generator.run());
+    }
+
+    /**
+     * 构建合成依赖图：bean i 随机依赖 fanOut 个编号更大的 bean
+     */
+    public DefaultListableBeanFactory buildFactory() {
+        DefaultListableBeanFactory beanFactory = new DefaultListableBeanFactory();
+        Random random = new Random(seed);
+        for (int i = 0; i < beanCount; i++) {
+            PropertyValues propertyValues = new PropertyValues();
+            int candidates = beanCount - i - 1;
+            Set<Integer> targets = new LinkedHashSet<>();
+            while (targets.size() < Math.min(fanOut, candidates)) {
+                targets.add(i + 1 + random.nextInt(candidates));
+            }
+            int slot = 0;
+            for (int target : targets) {
+                propertyValues.addPropertyValue(new PropertyValue("dep" + slot++, new BeanReference(beanName(target))));
+            }
+            beanFactory.registerBeanDefinition(beanName(i), new BeanDefinition(SyntheticBean.class, propertyValues));
+        }
+        return beanFactory;
+    }
+
+    /**
+     * 执行一次冷启动压测
+     */
+    public Report run() throws InterruptedException {
+        DefaultListableBeanFactory beanFactory = buildFactory();
+
+        Map<String, Object> firstSeen = new ConcurrentHashMap<>();
+        Map<String, Set<Object>> duplicates = new ConcurrentHashMap<>();
+        AtomicLong errors = new AtomicLong();
+        List<String> errorSamples = Collections.synchronizedList(new ArrayList<>());
+        List<LatencyHistogram> histograms = Collections.synchronizedList(new ArrayList<>());
+
+        CountDownLatch ready = new CountDownLatch(threads);
+        CountDownLatch start = new CountDownLatch(1);
+        CountDownLatch done = new CountDownLatch(threads);
+        for (int t = 0; t < threads; t++) {
+            Thread worker = new Thread(() -> {
+                LatencyHistogram histogram = new LatencyHistogram();
+                ThreadLocalRandom random = ThreadLocalRandom.current();
+                ready.countDown();
+                try {
+                    start.await();
+                    for (int c = 0; c < callsPerThread; c++) {
+                        String name = beanName(random.nextInt(beanCount));
+                        boolean withArgs = random.nextDouble() < argsRatio;
+                        long begin = System.nanoTime();
+                        try {
+                            Object bean = withArgs ? beanFactory.getBean(name, new Object[]{"tag-" + c}) : beanFactory.getBean(name);
+                            histogram.record(System.nanoTime() - begin);
+                            Object existing = firstSeen.putIfAbsent(name, bean);
+                            if (existing != null && existing != bean) {
+                                duplicates.computeIfAbsent(name, k -> Collections.synchronizedSet(
+                                        Collections.newSetFromMap(new IdentityHashMap<>()))).add(bean);
+                            }
+                        } catch (Throwable e) {
+                            histogram.record(System.nanoTime() - begin);
+                            if (errors.incrementAndGet() <= 5) {
+                                errorSamples.add(name + ": " + e);
+                            }
+                        }
+                    }
+                } catch (InterruptedException e) {
+                    Thread.currentThread().interrupt();
+                } finally {
+                    histograms.add(histogram);
+                    done.countDown();
+                }
+            }, "cold-start-" + t);
+            worker.start();
+        }
+
+        ready.await();
+        long begin = System.nanoTime();
+        start.countDown();
+        done.await();
+        long elapsed = System.nanoTime() - begin;
+
+        LatencyHistogram total = new LatencyHistogram();
+        for (LatencyHistogram histogram : histograms) {
+            total.merge(histogram);
+        }
+        long duplicateInstances = 0L;
+        for (Set<Object> instances : duplicates.values()) {
+            duplicateInstances += instances.size();
+        }
+        return new Report(total, elapsed, duplicateInstances, duplicates.size(),
+                countInconsistentReferences(beanFactory), errors.get(), errorSamples);
+    }
+
+    /**
+     * 压测结束后检查：已创建的 Bean 中注入的依赖是否就是容器中登记的那个单例
+     */
+    private long countInconsistentReferences(DefaultListableBeanFactory beanFactory) {
+        long inconsistent = 0L;
+        for (int i = 0; i < beanCount; i++) {
+            Object bean = beanFactory.getSingleton(beanName(i));
+            if (!(bean instanceof SyntheticBean)) {
+                continue;
+            }
+            PropertyValue[] propertyValues = beanFactory.getBeanDefinition(beanName(i)).getPropertyValues().getPropertyValues();
+            for (int slot = 0; slot < propertyValues.length; slot++) {
+                String dependencyName = ((BeanReference) propertyValues[slot].getValue()).getBeanName();
+                if (((SyntheticBean) bean).getDependency(slot) != beanFactory.getSingleton(dependencyName)) {
+                    inconsistent++;
+                }
+            }
+        }
+        return inconsistent;
+    }
+
+    private static String beanName(int index) {
+        return "bean" + index;
+    }
+
+    /**
+     * 压测报告
+     */
+    public final class Report {
+
+        private final LatencyHistogram histogram;
+
+        private final long elapsedNanos;
+
+        private final long duplicateInstances;
+
+        private final int beansWithDuplicates;
+
+        private final long inconsistentReferences;
+
+        private final long errors;
+
+        private final List<String> errorSamples;
+
+        private Report(LatencyHistogram histogram, long elapsedNanos, long duplicateInstances, int beansWithDuplicates,
+                       long inconsistentReferences, long errors, List<String> errorSamples) {
+            this.histogram = histogram;
+            this.elapsedNanos = elapsedNanos;
+            this.duplicateInstances = duplicateInstances;
+            this.beansWithDuplicates = beansWithDuplicates;
+            this.inconsistentReferences = inconsistentReferences;
+            this.errors = errors;
+            this.errorSamples = errorSamples;
+        }
+
+        public long getDuplicateInstances() {
+            return duplicateInstances;
+        }
+
+        public long getInconsistentReferences() {
+            return inconsistentReferences;
+        }
+
+        public long getErrors() {
+            return errors;
+        }
+
+        public LatencyHistogram getHistogram() {
+            return histogram;
+        }
+
+        @Override
+        public String toString() {
+            StringBuilder report = new StringBuilder();
+            report.append(String.format("beans=%d fanOut=%d threads=%d callsPerThread=%d argsRatio=%.2f seed=%d%n",
+                    beanCount, fanOut, threads, callsPerThread, argsRatio, seed));
+            report.append(String.format("calls=%d elapsed=%.1f ms throughput=%.0f calls/s%n",
+                    histogram.getTotalCount(), elapsedNanos / 1e6, histogram.getTotalCount() / (elapsedNanos / 1e9)));
+            report.append(String.format("latency p50=%.1f us p99=%.1f us p999=%.1f us max=%.1f us%n",
+                    histogram.getValueAtPercentile(50) / 1e3, histogram.getValueAtPercentile(99) / 1e3,
+                    histogram.getValueAtPercentile(99.9) / 1e3, histogram.getMaxValue() / 1e3));
+            report.append(String.format("duplicateInstances=%d (beans affected=%d) inconsistentReferences=%d errors=%d%n",
+                    duplicateInstances, beansWithDuplicates, inconsistentReferences, errors));
+            for (String sample : errorSamples) {
+                report.append("  error: ").append(sample).append('\n');
+            }
+            return report.toString();
+        }
+    }
+}
@@ -0,0 +1,85 @@
+package com.lj.framwork.test.benchmark;
+
+import com.lj.framwork.beans.factory.config.BeanDefinition;
+import com.lj.framwork.beans.factory.support.DefaultListableBeanFactory;
+import com.lj.framwork.context.ApplicationEvent;
+import com.lj.framwork.context.ApplicationListener;
+import com.lj.framwork.test.event.OrderPlacedEvent;
+
+/**
+ * @ClassName EventPublishBenchmark
+ * @Description 同步发布事件的吞吐量（events/s）。
+ * 容器中注册 LISTENER_COUNT 个监听器单例，其中一半监听 OrderPlacedEvent，另一半监听其它事件类型；
+ * 事件对象预先创建，测量的只是广播器的分发开销与监听器本身的调用。
+ * 不是单元测试（surefire 不会执行），需要手动运行 main 方法：
+ * java --add-opens java.base/java.lang=ALL-UNNAMED -cp target/classes:target/test-classes:依赖 com.lj.framwork.test.benchmark.EventPublishBenchmark
+ * @Author Dark Chocolate
+ * @Date 2026/1/31 10:40
+ * @Version JDK 17
+ */
+public class EventPublishBenchmark {
+
+    private static final int LISTENER_COUNT = 16;
+
+    private static final int EVENTS = 2_000_000;
+
+    private static final int WARMUP_ROUNDS = 5;
+
+    private static final int MEASURE_ROUNDS = 10;
+
+    public static void main(String[] args) {
+        DefaultListableBeanFactory beanFactory = new DefaultListableBeanFactory();
+        for (int i = 0; i < LISTENER_COUNT; i++) {
+            Class<?> listenerClass = i % 2 == 0 ? CountingOrderListener.class : OtherListener.class;
+            beanFactory.registerBeanDefinition("listener" + i, new BeanDefinition(listenerClass));
+            beanFactory.getBean("listener" + i);
+        }
+        OrderPlacedEvent event = new OrderPlacedEvent(beanFactory, "bench");
+
+        for (int i = 0; i < WARMUP_ROUNDS; i++) {
+            round(beanFactory, event);
+        }
+        long total = 0L;
+        for (int i = 0; i < MEASURE_ROUNDS; i++) {
+            total += round(beanFactory, event);
+        }
+        double nanosPerEvent = (double) total / MEASURE_ROUNDS / EVENTS;
+        System.out.printf("listeners=%d (matching=%d) %.1f ns/event, %.0f events/s%n",
+                LISTENER_COUNT, LISTENER_COUNT / 2, nanosPerEvent, 1e9 / nanosPerEvent);
+    }
+
+    private static long round(DefaultListableBeanFactory beanFactory, OrderPlacedEvent event) {
+        long start = System.nanoTime();
+        for (int i = 0; i < EVENTS; i++) {
+            beanFactory.publishEvent(event);
+        }
+        return System.nanoTime() - start;
+    }
+
+    public static class CountingOrderListener implements ApplicationListener<OrderPlacedEvent> {
+
+        private long count;
+
+        @Override
+        public void onApplicationEvent(OrderPlacedEvent event) {
+            count++;
+        }
+
+    }
+
+    public static class OtherEvent extends ApplicationEvent {
+
+        public OtherEvent(Object source) {
+            super(source);
+        }
+
+    }
+
+    public static class OtherListener implements ApplicationListener<OtherEvent> {
+
+        @Override
+        public void onApplicationEvent(OtherEvent event) {
+        }
+
+    }
+}
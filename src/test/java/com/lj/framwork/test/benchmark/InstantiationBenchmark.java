@@ -0,0 +1,88 @@
+package com.lj.framwork.test.benchmark;
+
+import com.lj.framwork.aop.DefaultPointcutAdvisor;
+import com.lj.framwork.aop.MethodInterceptor;
+import com.lj.framwork.beans.factory.config.BeanDefinition;
+import com.lj.framwork.beans.factory.support.CglibSubclassingInstantiationStrategy;
+import com.lj.framwork.beans.factory.support.DefaultListableBeanFactory;
+import com.lj.framwork.beans.factory.support.SimpleInstantiationStrategy;
+import com.lj.framwork.test.beans.UserDao;
+
+/**
+ * @ClassName InstantiationBenchmark
+ * @Description 对比三种创建方式的单个 Bean 创建耗时：
+ * 1. SimpleInstantiationStrategy（JDK 反射）
+ * 2. CglibSubclassingInstantiationStrategy（CGLIB 子类）：该策略对没有任何方法需要拦截的 Bean 直接反射创建，
+ *    因此这一组注册一个只会放行的通知器，让每个 Bean 都真正通过生成的子类创建
+ * 3. registerBean + Supplier（函数式注册，无反射）
+ * 每一轮都新建工厂并注册 BEAN_COUNT 个 Bean，然后逐个 getBean 触发冷创建。
+ * 不是单元测试（surefire 不会执行），需要手动运行 main 方法：
+ * java --add-opens java.base/java.lang=ALL-UNNAMED -cp target/classes:target/test-classes:依赖 com.lj.framwork.test.benchmark.InstantiationBenchmark
+ * @Author Dark Chocolate
+ * @Date 2026/1/22 10:25
+ * @Version JDK 17
+ */
+public class InstantiationBenchmark {
+
+    private static final int BEAN_COUNT = 10_000;
+
+    private static final int WARMUP_ROUNDS = 5;
+
+    private static final int MEASURE_ROUNDS = 10;
+
+    private static final MethodInterceptor PASS_THROUGH = invocation -> invocation.proceed();
+
+    public static void main(String[] args) {
+        run("reflection (SimpleInstantiationStrategy)", Mode.SIMPLE);
+        run("cglib (CglibSubclassingInstantiationStrategy)", Mode.CGLIB);
+        run("supplier (registerBean)", Mode.SUPPLIER);
+    }
+
+    private static void run(String label, Mode mode) {
+        for (int i = 0; i < WARMUP_ROUNDS; i++) {
+            round(mode);
+        }
+        long total = 0L;
+        for (int i = 0; i < MEASURE_ROUNDS; i++) {
+            total += round(mode);
+        }
+        double nanosPerBean = (double) total / MEASURE_ROUNDS / BEAN_COUNT;
+        System.out.printf("%-48s %10.1f ns/bean%n", label, nanosPerBean);
+    }
+
+    /**
+     * @return 本轮创建 BEAN_COUNT 个 Bean 的总耗时（纳秒）
+     */
+    private static long round(Mode mode) {
+        DefaultListableBeanFactory beanFactory = new DefaultListableBeanFactory();
+        if (mode == Mode.SIMPLE) {
+            beanFactory.setInstantiationStrategy(new SimpleInstantiationStrategy());
+        } else if (mode == Mode.CGLIB) {
+            beanFactory.setInstantiationStrategy(new CglibSubclassingInstantiationStrategy());
+            beanFactory.addAdvisor(new DefaultPointcutAdvisor(
+                    (method, targetClass) -> "queryUserName".equals(method.getName()), PASS_THROUGH));
+        }
+        for (int i = 0; i < BEAN_COUNT; i++) {
+            if (mode == Mode.SUPPLIER) {
+                beanFactory.registerBean("bean" + i, UserDao.class, UserDao::new);
+            } else {
+                beanFactory.registerBeanDefinition("bean" + i, new BeanDefinition(UserDao.class));
+            }
+        }
+
+        long start = System.nanoTime();
+        Object sink = null;
+        for (int i = 0; i < BEAN_COUNT; i++) {
+            sink = beanFactory.getBean("bean" + i);
+        }
+        long elapsed = System.nanoTime() - start;
+        if (sink == null) {
+            throw new IllegalStateException();
+        }
+        return elapsed;
+    }
+
+    private enum Mode {
+        SIMPLE, CGLIB, SUPPLIER
+    }
+}
@@ -0,0 +1,83 @@
+package com.lj.framwork.test.benchmark;
+
+/**
+ * @ClassName LatencyHistogram
+ * @Description 对数-线性分桶的延迟直方图（纳秒）。
+ * 每个 2 的幂区间再细分为 32 个子桶，相对误差约 3%，内存占用固定（不保存原始样本）。
+ * 非线程安全：每个压测线程各自记录，结束后用 {@link #merge} 合并。
+ * @Author Dark Chocolate
+ * @Date 2026/1/25 10:20
+ * @Version JDK 17
+ */
+public class LatencyHistogram {
+
+    private static final int SUB_BUCKET_BITS = 5;
+
+    private static final int SUB_BUCKET_COUNT = 1 << SUB_BUCKET_BITS;
+
+    private final long[] counts = new long[(64 - SUB_BUCKET_BITS + 1) * SUB_BUCKET_COUNT];
+
+    private long totalCount;
+
+    private long maxValue;
+
+    public void record(long nanos) {
+        long value = Math.max(0L, nanos);
+        counts[indexOf(value)]++;
+        totalCount++;
+        maxValue = Math.max(maxValue, value);
+    }
+
+    public void merge(LatencyHistogram other) {
+        for (int i = 0; i < counts.length; i++) {
+            counts[i] += other.counts[i];
+        }
+        totalCount += other.totalCount;
+        maxValue = Math.max(maxValue, other.maxValue);
+    }
+
+    public long getTotalCount() {
+        return totalCount;
+    }
+
+    public long getMaxValue() {
+        return maxValue;
+    }
+
+    /**
+     * @param percentile 百分位（0 ~ 100），例如 99.9
+     * @return 对应百分位的延迟（纳秒，取所在桶的中值）
+     */
+    public long getValueAtPercentile(double percentile) {
+        if (totalCount == 0) {
+            return 0L;
+        }
+        long target = Math.max(1L, (long) Math.ceil(percentile / 100.0 * totalCount));
+        long cumulative = 0L;
+        for (int i = 0; i < counts.length; i++) {
+            cumulative += counts[i];
+            if (cumulative >= target) {
+                return Math.min(midValueOf(i), maxValue);
+            }
+        }
+        return maxValue;
+    }
+
+    private static int indexOf(long value) {
+        if (value < SUB_BUCKET_COUNT) {
+            return (int) value;
+        }
+        int exponent = 63 - Long.numberOfLeadingZeros(value) - SUB_BUCKET_BITS;
+        int subBucket = (int) (value >>> exponent) - SUB_BUCKET_COUNT;
+        return (exponent + 1) * SUB_BUCKET_COUNT + subBucket;
+    }
+
+    private static long midValueOf(int index) {
+        if (index < SUB_BUCKET_COUNT) {
+            return index;
+        }
+        int exponent = index / SUB_BUCKET_COUNT - 1;
+        long lower = (long) (index % SUB_BUCKET_COUNT + SUB_BUCKET_COUNT) << exponent;
+        return lower + ((1L << exponent) >>> 1);
+    }
+}
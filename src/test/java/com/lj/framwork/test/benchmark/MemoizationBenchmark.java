@@ -0,0 +1,74 @@
+package com.lj.framwork.test.benchmark;
+
+import com.lj.framwork.beans.factory.config.BeanDefinition;
+import com.lj.framwork.beans.factory.support.DefaultListableBeanFactory;
+import com.lj.framwork.test.beans.RegionClient;
+
+/**
+ * @ClassName MemoizationBenchmark
+ * @Description 对比 getBean(name, args) 的耗时（ns/lookup）：
+ * 1. prototype：每次调用都构造新实例
+ * 2. memoized：按参数元组缓存实例，重复的参数直接命中
+ * 参数在 REGION_COUNT 个地域中轮换，memoized 的缓存容量足以容纳全部地域，结束后打印命中率。
+ * 不是单元测试（surefire 不会执行），需要手动运行 main 方法：
+ * java --add-opens java.base/java.lang=ALL-UNNAMED -cp target/classes:target/test-classes:依赖 com.lj.framwork.test.benchmark.MemoizationBenchmark
+ * @Author Dark Chocolate
+ * @Date 2026/2/2 10:50
+ * @Version JDK 17
+ */
+public class MemoizationBenchmark {
+
+    private static final int REGION_COUNT = 32;
+
+    private static final int LOOKUPS = 200_000;
+
+    private static final int WARMUP_ROUNDS = 5;
+
+    private static final int MEASURE_ROUNDS = 10;
+
+    public static void main(String[] args) {
+        Object[][] arguments = new Object[REGION_COUNT][];
+        for (int i = 0; i < REGION_COUNT; i++) {
+            arguments[i] = new Object[]{"region-" + i};
+        }
+
+        DefaultListableBeanFactory beanFactory = new DefaultListableBeanFactory();
+        BeanDefinition prototype = new BeanDefinition(RegionClient.class);
+        prototype.setScope(BeanDefinition.SCOPE_PROTOTYPE);
+        beanFactory.registerBeanDefinition("prototypeClient", prototype);
+        BeanDefinition memoized = new BeanDefinition(RegionClient.class);
+        memoized.setMemoizedCacheSize(REGION_COUNT);
+        beanFactory.registerBeanDefinition("memoizedClient", memoized);
+
+        run("prototype", beanFactory, "prototypeClient", arguments);
+        run("memoized", beanFactory, "memoizedClient", arguments);
+        System.out.println(beanFactory.getArgumentKeyedBeanCache("memoizedClient"));
+    }
+
+    private static void run(String label, DefaultListableBeanFactory beanFactory, String beanName, Object[][] arguments) {
+        for (int i = 0; i < WARMUP_ROUNDS; i++) {
+            round(beanFactory, beanName, arguments);
+        }
+        long total = 0L;
+        for (int i = 0; i < MEASURE_ROUNDS; i++) {
+            total += round(beanFactory, beanName, arguments);
+        }
+        System.out.printf("%-12s %10.1f ns/lookup%n", label, (double) total / MEASURE_ROUNDS / LOOKUPS);
+    }
+
+    /**
+     * @return 本轮 LOOKUPS 次 getBean 的总耗时（纳秒）
+     */
+    private static long round(DefaultListableBeanFactory beanFactory, String beanName, Object[][] arguments) {
+        Object sink = null;
+        long start = System.nanoTime();
+        for (int i = 0; i < LOOKUPS; i++) {
+            sink = beanFactory.getBean(beanName, arguments[i % arguments.length]);
+        }
+        long elapsed = System.nanoTime() - start;
+        if (sink == null) {
+            throw new IllegalStateException();
+        }
+        return elapsed;
+    }
+}
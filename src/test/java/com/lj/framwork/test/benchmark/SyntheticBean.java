@@ -0,0 +1,62 @@
+package com.lj.framwork.test.benchmark;
+
+/**
+ * @ClassName SyntheticBean
+ * @Description 压测用的合成 Bean。
+ * 依赖通过 dep0 ~ dep7 八个字段注入（与普通业务 Bean 一样走属性填充），所以扇出上限为 {@link #MAX_FAN_OUT}。
+ * 同时提供一个单参构造函数，供 getBean(name, args) 路径使用。
+ * @Author Dark Chocolate
+ * @Date 2026/1/25 10:05
+ * @Version JDK 17
+ */
+public class SyntheticBean {
+
+    public static final int MAX_FAN_OUT = 8;
+
+    private String tag;
+
+    private Object dep0;
+
+    private Object dep1;
+
+    private Object dep2;
+
+    private Object dep3;
+
+    private Object dep4;
+
+    private Object dep5;
+
+    private Object dep6;
+
+    private Object dep7;
+
+    public SyntheticBean() {
+    }
+
+    public SyntheticBean(String tag) {
+        this.tag = tag;
+    }
+
+    public String getTag() {
+        return tag;
+    }
+
+    /**
+     * 按下标读取依赖，供压测结束后校验依赖是否指向容器中的单例
+     */
+    public Object getDependency(int index) {
+        switch (index) {
+            case 0: return dep0;
+            case 1: return dep1;
+            case 2: return dep2;
+            case 3: return dep3;
+            case 4: return dep4;
+            case 5: return dep5;
+            case 6: return dep6;
+            case 7: return dep7;
+            default: throw new IndexOutOfBoundsException("dep" + index);
+        }
+    }
+
+}
@@ -0,0 +1,35 @@
+package com.lj.framwork.test.event;
+
+import com.lj.framwork.context.ApplicationListener;
+
+import java.util.List;
+import java.util.concurrent.CopyOnWriteArrayList;
+
+/**
+ * @ClassName OrderListener
+ * @Description 测试用监听器：只监听下单事件，记录收到的订单号及处理线程
+ * @Author Dark Chocolate 2069057986@qq.com
+ * @Date 2026/1/31 10:08
+ * @Version JDK 17
+ */
+public class OrderListener implements ApplicationListener<OrderPlacedEvent> {
+
+    private final List<String> orderIds = new CopyOnWriteArrayList<>();
+
+    private volatile Thread lastThread;
+
+    @Override
+    public void onApplicationEvent(OrderPlacedEvent event) {
+        orderIds.add(event.getOrderId());
+        lastThread = Thread.currentThread();
+    }
+
+    public List<String> getOrderIds() {
+        return orderIds;
+    }
+
+    public Thread getLastThread() {
+        return lastThread;
+    }
+
+}
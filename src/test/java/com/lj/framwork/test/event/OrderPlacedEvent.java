@@ -0,0 +1,25 @@
+package com.lj.framwork.test.event;
+
+import com.lj.framwork.context.ApplicationEvent;
+
+/**
+ * @ClassName OrderPlacedEvent
+ * @Description 测试用事件：下单
+ * @Author Dark Chocolate 2069057986@qq.com
+ * @Date 2026/1/31 10:05
+ * @Version JDK 17
+ */
+public class OrderPlacedEvent extends ApplicationEvent {
+
+    private final String orderId;
+
+    public OrderPlacedEvent(Object source, String orderId) {
+        super(source);
+        this.orderId = orderId;
+    }
+
+    public String getOrderId() {
+        return orderId;
+    }
+
+}
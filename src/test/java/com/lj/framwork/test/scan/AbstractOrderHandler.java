@@ -0,0 +1,17 @@
+package com.lj.framwork.test.scan;
+
+import com.lj.framwork.stereotype.Component;
+
+/**
+ * @ClassName AbstractOrderHandler
+ * @Description 抽象类即使标注了 @Component 也不应被注册
+ * @Author Dark Chocolate 2069057986@qq.com
+ * @Date 2026/1/23 17:04
+ * @Version JDK 17
+ */
+@Component
+public abstract class AbstractOrderHandler {
+
+    public abstract void handle(String orderId);
+
+}
@@ -0,0 +1,19 @@
+package com.lj.framwork.test.scan;
+
+import com.lj.framwork.stereotype.Component;
+
+/**
+ * @ClassName OrderDao
+ * @Description 组件扫描测试用的 Bean，使用默认 Bean 名称
+ * @Author Dark Chocolate 2069057986@qq.com
+ * @Date 2026/1/23 17:02
+ * @Version JDK 17
+ */
+@Component
+public class OrderDao {
+
+    public String queryOrder(String orderId) {
+        return "order-" + orderId;
+    }
+
+}
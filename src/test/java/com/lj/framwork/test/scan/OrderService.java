@@ -0,0 +1,25 @@
+package com.lj.framwork.test.scan;
+
+import com.lj.framwork.stereotype.Component;
+
+/**
+ * @ClassName OrderService
+ * @Description 组件扫描测试用的 Bean，显式指定 Bean 名称
+ * @Author Dark Chocolate 2069057986@qq.com
+ * @Date 2026/1/23 17:03
+ * @Version JDK 17
+ */
+@Component("orders")
+public class OrderService {
+
+    private OrderDao orderDao;
+
+    public OrderDao getOrderDao() {
+        return orderDao;
+    }
+
+    public void setOrderDao(OrderDao orderDao) {
+        this.orderDao = orderDao;
+    }
+
+}